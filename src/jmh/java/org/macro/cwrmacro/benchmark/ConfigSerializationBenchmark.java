@@ -0,0 +1,67 @@
+package org.macro.cwrmacro.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.macro.cwrmacro.config.FarmHandConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Gson work behind a config save and load, without the file I/O
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigSerializationBenchmark {
+    // Same settings as FarmHandConfig
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private FarmHandConfig config;
+    private String json;
+
+    @Setup
+    public void setup() {
+        config = new FarmHandConfig();
+        config.autoSellItemIds = new ArrayList<>(List.of("minecraft:diamond", "minecraft:emerald", "minecraft:gold_ingot"));
+        config.triggerBotEntityIds = new ArrayList<>(List.of("minecraft:zombie", "minecraft:skeleton"));
+        json = gson.toJson(config);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return gson.toJson(config);
+    }
+
+    @Benchmark
+    public FarmHandConfig deserialize() {
+        return gson.fromJson(json, FarmHandConfig.class);
+    }
+
+    @Benchmark
+    public FarmHandConfig roundTrip() {
+        FarmHandConfig loaded = new FarmHandConfig();
+        loaded.copyFrom(gson.fromJson(gson.toJson(config), FarmHandConfig.class));
+        return loaded;
+    }
+
+    @Benchmark
+    public boolean unchangedCheck() {
+        // What the background writer does instead of a write when nothing changed
+        return config.copy().equals(config);
+    }
+}
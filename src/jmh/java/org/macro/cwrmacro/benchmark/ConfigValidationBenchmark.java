@@ -0,0 +1,52 @@
+package org.macro.cwrmacro.benchmark;
+
+import org.macro.cwrmacro.config.FarmHandConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ID validation used by the config screen on every keystroke and on every load and save
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigValidationBenchmark {
+    @Param({"minecraft:diamond", "minecraft:zombie_villager", "Minecraft:Diamond", "not an id"})
+    public String id;
+
+    public String idList;
+
+    @Setup
+    public void setup() {
+        idList = "minecraft:diamond, minecraft:emerald, " + id + ", minecraft:gold_ingot";
+    }
+
+    @Benchmark
+    public boolean isValidItemId() {
+        return FarmHandConfig.isValidItemId(id);
+    }
+
+    @Benchmark
+    public boolean isValidEntityId() {
+        return FarmHandConfig.isValidEntityId(id);
+    }
+
+    @Benchmark
+    public boolean parseAndValidateIdList() {
+        return FarmHandConfig.isValidIdList(FarmHandConfig.parseIdList(idList));
+    }
+}
@@ -0,0 +1,59 @@
+package org.macro.cwrmacro.benchmark;
+
+import net.minecraft.text.Text;
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.config.FarmHandConfig;
+import org.macro.cwrmacro.hud.FarmHandHUD;
+import org.macro.cwrmacro.hud.HudViewModel;
+import org.macro.cwrmacro.simulation.MinecraftBootstrap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HUD text building, and the per-frame check of the cached view-model that replaced it. Drawing itself
+ * needs a window and is not covered.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HudBenchmark {
+    private ConfigSnapshot config;
+    private boolean selling;
+    private HudViewModel view;
+
+    @Setup
+    public void setup() {
+        MinecraftBootstrap.ensureInitialized();
+        FarmHandConfig source = new FarmHandConfig();
+        source.autoSellEnabled = true;
+        source.triggerBotEnabled = true;
+        config = ConfigSnapshot.of(source);
+        view = new HudViewModel();
+    }
+
+    @Benchmark
+    public Text[] buildLines() {
+        // Alternate so the status text is not constant
+        selling = !selling;
+        return FarmHandHUD.buildLines(config, selling, false);
+    }
+
+    @Benchmark
+    public boolean cachedFrame() {
+        // Inputs unchanged since the last frame, the common case; rates refresh once per second
+        return view.update(config, false, false, 854, 480, 9, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,103 @@
+package org.macro.cwrmacro.benchmark;
+
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import org.macro.cwrmacro.config.ItemTargetSet;
+import org.macro.cwrmacro.inventory.InventoryTracker;
+import org.macro.cwrmacro.simulation.MinecraftBootstrap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The AutoSell inventory checks over a stubbed 36-slot inventory: the occupancy count (a full scan before
+ * InventoryTracker, a tracker tick and read after), the tracker's handling of a slot write, and the hotbar
+ * search for configured sell items.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventoryScanBenchmark {
+    private static final int MAIN_SLOTS = InventoryTracker.MAIN_SLOTS;
+    private static final int HOTBAR_SLOTS = 9;
+    // An empty slot that slotChanged fills and empties again
+    private static final int TOGGLED_SLOT = 2;
+
+    private final SimpleInventory inventory = new SimpleInventory(MAIN_SLOTS);
+    private final int[] sellSlots = new int[HOTBAR_SLOTS];
+    private ItemTargetSet sellItems;
+    private ItemStack toggledStack;
+
+    @Setup
+    public void setup() {
+        MinecraftBootstrap.ensureInitialized();
+        sellItems = ItemTargetSet.compile(List.of("minecraft:diamond", "minecraft:emerald"));
+        toggledStack = new ItemStack(Items.WHEAT, 32);
+
+        for (int i = 0; i < MAIN_SLOTS; i++) {
+            // Roughly two thirds full, sell items in a few hotbar slots
+            if (i % 3 == 2) {
+                inventory.setStack(i, ItemStack.EMPTY);
+            } else if (i == 4 || i == 7) {
+                inventory.setStack(i, new ItemStack(Items.DIAMOND, 64));
+            } else {
+                inventory.setStack(i, new ItemStack(Items.WHEAT, 32));
+            }
+        }
+
+        // The stub stands in for the player's inventory from the first tick on
+        InventoryTracker.tick(inventory);
+    }
+
+    @Benchmark
+    public int countFilledSlotsScan() {
+        int filled = 0;
+        for (int i = 0; i < MAIN_SLOTS; i++) {
+            if (!inventory.getStack(i).isEmpty()) {
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    @Benchmark
+    public int countFilledSlotsTracked() {
+        // One dispatcher tick, including its share of the once-a-second rescan, then the read
+        InventoryTracker.tick(inventory);
+        return InventoryTracker.getFilledSlotCount();
+    }
+
+    @Benchmark
+    public int slotChanged() {
+        // The write and the callback PlayerInventoryMixin makes after it
+        ItemStack next = inventory.getStack(TOGGLED_SLOT).isEmpty() ? toggledStack : ItemStack.EMPTY;
+        inventory.setStack(TOGGLED_SLOT, next);
+        InventoryTracker.onSlotChanged(inventory, TOGGLED_SLOT);
+        return InventoryTracker.getFilledSlotCount();
+    }
+
+    @Benchmark
+    public int findSellItemsInHotbar() {
+        int found = 0;
+        for (int i = 0; i < HOTBAR_SLOTS; i++) {
+            if (sellItems.matches(inventory.getStack(i))) {
+                sellSlots[found++] = i;
+            }
+        }
+        return found;
+    }
+}
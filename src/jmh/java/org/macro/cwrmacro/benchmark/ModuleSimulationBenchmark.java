@@ -0,0 +1,60 @@
+package org.macro.cwrmacro.benchmark;
+
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.config.FarmHandConfig;
+import org.macro.cwrmacro.simulation.MinecraftBootstrap;
+import org.macro.cwrmacro.simulation.ModuleSimulator;
+import org.macro.cwrmacro.simulation.SimulationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole module ticks, world simulation included, on the headless simulator.
+ * With {@code -prof gc} the normalized allocation rate is bytes per simulated tick.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModuleSimulationBenchmark {
+    private static final int TICKS = 1000;
+
+    @Param({"0", "250"})
+    public int triggerBotSpeed;
+
+    private ModuleSimulator simulator;
+
+    @Setup
+    public void setup() {
+        MinecraftBootstrap.ensureInitialized();
+        FarmHandConfig config = new FarmHandConfig();
+        config.autoSellItemIds = List.of("minecraft:diamond", "minecraft:emerald");
+        config.triggerBotEnabled = true;
+        config.triggerBotEntityIds = List.of("minecraft:zombie");
+        config.triggerBotSpeed = triggerBotSpeed;
+        config.enableLogging = false;
+        config.enableSounds = false;
+        simulator = new ModuleSimulator(ConfigSnapshot.of(config), 42L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public SimulationResult tick() {
+        return simulator.run(TICKS);
+    }
+}
@@ -0,0 +1,62 @@
+package org.macro.cwrmacro.benchmark;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import org.macro.cwrmacro.config.EntityTargetMatcher;
+import org.macro.cwrmacro.simulation.MinecraftBootstrap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The TriggerBot crosshair check, done once per tick while an entity is under the crosshair.
+ * {@link #registryLookup()} is the original per-tick ID parse and registry lookup, kept as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TargetMatchBenchmark {
+    private static final String TARGET_ID = "minecraft:zombie";
+
+    private EntityTargetMatcher matcher;
+    private EntityType<?> hit;
+    private EntityType<?> miss;
+
+    @Setup
+    public void setup() {
+        MinecraftBootstrap.ensureInitialized();
+        matcher = EntityTargetMatcher.compile(List.of(TARGET_ID, "minecraft:skeleton", "minecraft:creeper"));
+        hit = EntityType.ZOMBIE;
+        miss = EntityType.PIG;
+    }
+
+    @Benchmark
+    public boolean compiledHit() {
+        return matcher.matchesRawId(Registries.ENTITY_TYPE.getRawId(hit));
+    }
+
+    @Benchmark
+    public boolean compiledMiss() {
+        return matcher.matchesRawId(Registries.ENTITY_TYPE.getRawId(miss));
+    }
+
+    @Benchmark
+    public boolean registryLookup() {
+        Identifier identifier = Identifier.tryParse(TARGET_ID.toLowerCase().trim());
+        return identifier != null && Registries.ENTITY_TYPE.get(identifier) == hit;
+    }
+}
@@ -4,11 +4,18 @@ import net.fabricmc.api.ModInitializer;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import org.macro.cwrmacro.config.ConfigWatcher;
+import org.macro.cwrmacro.config.ConfigWriter;
 import org.macro.cwrmacro.config.FarmHandConfig;
 import org.macro.cwrmacro.hud.FarmHandHUD;
 import org.macro.cwrmacro.keybind.FarmHandKeybind;
+import org.macro.cwrmacro.metrics.MetricsServer;
 import org.macro.cwrmacro.module.AutoSellModule;
+import org.macro.cwrmacro.module.ModuleDispatcher;
 import org.macro.cwrmacro.module.TriggerBotModule;
+import org.macro.cwrmacro.network.ServerTiming;
+import org.macro.cwrmacro.stats.StatsStore;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +43,14 @@ public class CWRXPMactro implements ClientModInitializer {
                         // Initialize configuration with error handling
                         try {
                                 FarmHandConfig.getInstance();
+                                // Re-resolve configured targets once every mod has registered its content
+                                ClientLifecycleEvents.CLIENT_STARTED.register(client -> FarmHandConfig.getInstance().publish());
+                                // Write any save still waiting in the debounce window
+                                ClientLifecycleEvents.CLIENT_STOPPING.register(client -> {
+                                        ConfigWatcher.stop();
+                                        ConfigWriter.flush();
+                                });
+                                ConfigWatcher.start();
                                 LOGGER.info("Configuration loaded successfully");
                         } catch (Exception e) {
                                 LOGGER.error("Failed to load configuration, using defaults", e);
@@ -49,6 +64,22 @@ public class CWRXPMactro implements ClientModInitializer {
                                 LOGGER.error("Failed to register keybinds", e);
                         }
                         
+                        // Register the dispatcher that drives keybinds, inventory tracking and modules
+                        try {
+                                ModuleDispatcher.register();
+                                LOGGER.info("Module dispatcher registered successfully");
+                        } catch (Exception e) {
+                                LOGGER.error("Failed to register module dispatcher", e);
+                        }
+
+                        // Register the server timing estimator the modules scale their delays by
+                        try {
+                                ServerTiming.register();
+                                LOGGER.info("Server timing registered successfully");
+                        } catch (Exception e) {
+                                LOGGER.error("Failed to register server timing", e);
+                        }
+
                         // Register modules with error handling
                         try {
                                 AutoSellModule.register();
@@ -72,6 +103,22 @@ public class CWRXPMactro implements ClientModInitializer {
                                 LOGGER.error("Failed to register HUD", e);
                         }
 
+                        // Register the opt-in metrics endpoint, started once the config enables it
+                        try {
+                                MetricsServer.register();
+                                LOGGER.info("Metrics endpoint registered successfully");
+                        } catch (Exception e) {
+                                LOGGER.error("Failed to register metrics endpoint", e);
+                        }
+
+                        // Register the per-server statistics log
+                        try {
+                                StatsStore.register();
+                                LOGGER.info("Stats store registered successfully");
+                        } catch (Exception e) {
+                                LOGGER.error("Failed to register stats store", e);
+                        }
+
                         LOGGER.info("{} v{} initialized successfully!", MOD_NAME, VERSION);
                         
                 } catch (Exception e) {
@@ -0,0 +1,15 @@
+package org.macro.cwrmacro.chat;
+
+/**
+ * Receives the value of the rule that matched a message
+ *
+ * @param <C> context passed to {@link ChatMatcher#process}
+ * @param <T> value type of the rules registered with this handler
+ */
+@FunctionalInterface
+public interface ChatHandler<C, T> {
+    /**
+     * @param match only valid for the duration of the call
+     */
+    void onMatch(C context, T value, ChatMatch match);
+}
@@ -0,0 +1,56 @@
+package org.macro.cwrmacro.chat;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+
+/**
+ * The message and rule a {@link ChatHandler} is called for. A single instance is reused for every match,
+ * so handlers must copy out what they need instead of keeping it.
+ */
+public final class ChatMatch {
+    private String message;
+    private Matcher matcher;
+    private Map<String, Integer> groups;
+
+    ChatMatch() {
+    }
+
+    void set(String message, Matcher matcher, Map<String, Integer> groups) {
+        this.message = message;
+        this.matcher = matcher;
+        this.groups = groups;
+    }
+
+    /**
+     * The whole message, as plain text
+     */
+    public String message() {
+        return message;
+    }
+
+    /**
+     * Text captured by a named group of a regex rule, or null for literal rules, unknown groups and
+     * groups that did not participate in the match
+     */
+    public String group(String name) {
+        return matcher != null && groups.containsKey(name) ? matcher.group(name) : null;
+    }
+
+    /**
+     * Index in {@link #message()} where a named group starts, or -1 wherever {@link #group} returns null.
+     * Together with {@link #end} it reads a capture without copying it.
+     */
+    public int start(String name) {
+        Integer group = matcher != null ? groups.get(name) : null;
+        return group != null ? matcher.start(group) : -1;
+    }
+
+    /**
+     * Index in {@link #message()} just past the end of a named group, or -1 wherever
+     * {@link #group} returns null
+     */
+    public int end(String name) {
+        Integer group = matcher != null ? groups.get(name) : null;
+        return group != null ? matcher.end(group) : -1;
+    }
+}
@@ -0,0 +1,316 @@
+package org.macro.cwrmacro.chat;
+
+import org.macro.cwrmacro.CWRXPMactro;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Matches incoming chat against every registered rule in one pass.
+ * <p>
+ * All literals, together with a required literal extracted from each regex, are compiled into a single
+ * {@link LiteralAutomaton}. A message is scanned once; a regex is only run when its literal was found, and
+ * regexes without a usable literal are the fallback that runs on every message. Each owner registers an
+ * ordered rule list with a typed handler and gets at most one callback per message, for its first matching
+ * rule. Regex matchers are created once and reset per message, so a message that matches nothing
+ * allocates nothing. Registration and matching happen on one thread; the automaton is rebuilt lazily on
+ * the first message after the rules changed.
+ *
+ * @param <C> context handed through to the handlers
+ */
+public final class ChatMatcher<C> {
+    // Regex literals shorter than this would hit too often to save anything
+    private static final int MIN_REQUIRED_LITERAL = 3;
+
+    private final Map<Object, Registration<C, ?>> registrations = new LinkedHashMap<>();
+    private final ChatMatch match = new ChatMatch();
+
+    private Registration<C, ?>[] compiled = newRegistrations(0);
+    private LiteralAutomaton automaton = LiteralAutomaton.EMPTY;
+    private int[] hits = new int[0];
+    private int stamp = 0;
+    private boolean dirty = false;
+
+    /**
+     * Replace the rules of {@code owner}. Rules are tried in list order; invalid regexes are skipped.
+     */
+    public <T> void register(Object owner, List<ChatRule<T>> rules, ChatHandler<C, T> handler) {
+        registrations.put(owner, new Registration<>(List.copyOf(rules), handler));
+        dirty = true;
+    }
+
+    public void unregister(Object owner) {
+        if (registrations.remove(owner) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Match a plain-text message and call the handler of every owner with a matching rule
+     *
+     * @return true if any rule matched
+     */
+    public boolean process(C context, String message) {
+        if (dirty) {
+            rebuild();
+        }
+        if (compiled.length == 0 || message == null) {
+            return false;
+        }
+
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(hits, 0);
+            stamp = 1;
+        }
+        automaton.scan(message, hits, stamp);
+
+        boolean matched = false;
+        for (Registration<C, ?> registration : compiled) {
+            if (registration.process(context, message, hits, stamp, match)) {
+                matched = true;
+            }
+        }
+        match.set(null, null, null);
+        return matched;
+    }
+
+    private void rebuild() {
+        dirty = false;
+        List<String> literals = new ArrayList<>();
+        for (Registration<C, ?> registration : registrations.values()) {
+            registration.compile(literals);
+        }
+
+        compiled = registrations.values().toArray(newRegistrations(0));
+        automaton = LiteralAutomaton.build(literals);
+        hits = new int[literals.size()];
+        stamp = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> Registration<C, ?>[] newRegistrations(int size) {
+        return (Registration<C, ?>[]) new Registration[size];
+    }
+
+    /**
+     * Longest run of plain characters every match of {@code regex} must contain, or null if none can be
+     * found safely. Only top-level text counts: anything inside a group may be optional or alternated,
+     * and a top-level alternation or comments mode means there is no single required literal.
+     */
+    static String requiredLiteral(String regex) {
+        StringBuilder best = new StringBuilder();
+        StringBuilder run = new StringBuilder();
+        boolean lastWasLiteral = false;
+        int depth = 0;
+
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            boolean literal = false;
+            switch (c) {
+                case '\\' -> {
+                    if (i + 1 >= regex.length()) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(++i);
+                    if (Character.isDigit(escaped) || "QxucNk".indexOf(escaped) >= 0) {
+                        // Quoting, code points and back references span more than the next character
+                        return null;
+                    }
+                    if (Character.isLetterOrDigit(escaped)) {
+                        // Character class or boundary
+                        if ((escaped == 'p' || escaped == 'P') && i + 1 < regex.length() && regex.charAt(i + 1) == '{') {
+                            i = regex.indexOf('}', i);
+                            if (i < 0) {
+                                return null;
+                            }
+                        }
+                        endRun(best, run);
+                    } else if (depth == 0) {
+                        run.append(escaped);
+                        literal = true;
+                    }
+                }
+                case '[' -> {
+                    i = skipClass(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    endRun(best, run);
+                }
+                case '(' -> {
+                    if (regex.startsWith("(?!", i) || regex.startsWith("(?<!", i)) {
+                        // Negative lookarounds name text that must not be there
+                        return null;
+                    }
+                    if (regex.startsWith("(?", i) && depth == 0) {
+                        int flagsEnd = i + 2;
+                        while (flagsEnd < regex.length() && Character.isLetter(regex.charAt(flagsEnd))) {
+                            flagsEnd++;
+                        }
+                        if (regex.substring(i + 2, flagsEnd).indexOf('x') >= 0) {
+                            return null;
+                        }
+                    }
+                    depth++;
+                    endRun(best, run);
+                }
+                case ')' -> {
+                    depth--;
+                    endRun(best, run);
+                }
+                case '|' -> {
+                    if (depth == 0) {
+                        return null;
+                    }
+                }
+                case '?', '*', '{' -> {
+                    // The previous character may be absent
+                    if (lastWasLiteral && run.length() > 0) {
+                        run.setLength(run.length() - 1);
+                    }
+                    endRun(best, run);
+                    if (c == '{') {
+                        i = regex.indexOf('}', i);
+                        if (i < 0) {
+                            return null;
+                        }
+                    }
+                }
+                case '+' -> endRun(best, run); // Repeats can't be bridged by a literal
+                case '.', '^', '$' -> endRun(best, run);
+                default -> {
+                    if (depth == 0) {
+                        run.append(c);
+                        literal = true;
+                    }
+                }
+            }
+            lastWasLiteral = literal;
+        }
+        endRun(best, run);
+
+        return best.length() >= MIN_REQUIRED_LITERAL ? best.toString() : null;
+    }
+
+    private static void endRun(StringBuilder best, StringBuilder run) {
+        if (run.length() > best.length()) {
+            best.setLength(0);
+            best.append(run);
+        }
+        run.setLength(0);
+    }
+
+    /**
+     * @return index of the closing bracket of the class opened at {@code start}, or -1
+     */
+    private static int skipClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        int nested = 0;
+        for (; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                nested++;
+            } else if (c == ']') {
+                if (nested == 0) {
+                    return i;
+                }
+                nested--;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The rules and handler of one owner, with per-rule compiled state
+     */
+    private static final class Registration<C, T> {
+        private final List<ChatRule<T>> rules;
+        private final ChatHandler<C, T> handler;
+
+        private final List<T> values = new ArrayList<>();
+        private int[] literalIndex = new int[0];
+        private Matcher[] matchers = new Matcher[0];
+        private List<Map<String, Integer>> groups = new ArrayList<>();
+
+        Registration(List<ChatRule<T>> rules, ChatHandler<C, T> handler) {
+            this.rules = rules;
+            this.handler = handler;
+        }
+
+        /**
+         * Compile the rules, adding their literals to the shared list
+         */
+        void compile(List<String> literals) {
+            values.clear();
+            groups = new ArrayList<>();
+            List<Integer> indices = new ArrayList<>();
+            List<Matcher> compiledMatchers = new ArrayList<>();
+
+            for (ChatRule<T> rule : rules) {
+                String pattern = rule.pattern();
+                if (pattern == null || pattern.isEmpty()) {
+                    continue;
+                }
+
+                Matcher matcher = null;
+                Map<String, Integer> named = Map.of();
+                String literal = pattern;
+                if (rule.regex()) {
+                    try {
+                        Pattern compiledPattern = Pattern.compile(pattern);
+                        matcher = compiledPattern.matcher("");
+                        named = compiledPattern.namedGroups();
+                    } catch (PatternSyntaxException e) {
+                        CWRXPMactro.LOGGER.warn("Skipping invalid chat pattern: {}", pattern);
+                        continue;
+                    }
+                    literal = requiredLiteral(pattern);
+                }
+
+                indices.add(literal == null ? -1 : literals.size());
+                if (literal != null) {
+                    literals.add(literal);
+                }
+                compiledMatchers.add(matcher);
+                groups.add(named);
+                values.add(rule.value());
+            }
+
+            literalIndex = indices.stream().mapToInt(Integer::intValue).toArray();
+            matchers = compiledMatchers.toArray(new Matcher[0]);
+        }
+
+        boolean process(C context, String message, int[] hits, int stamp, ChatMatch match) {
+            for (int i = 0; i < matchers.length; i++) {
+                int literal = literalIndex[i];
+                if (literal >= 0 && hits[literal] != stamp) {
+                    continue;
+                }
+
+                Matcher matcher = matchers[i];
+                if (matcher != null && !matcher.reset(message).find()) {
+                    continue;
+                }
+
+                match.set(message, matcher, groups.get(i));
+                handler.onMatch(context, values.get(i), match);
+                return true;
+            }
+            return false;
+        }
+    }
+}
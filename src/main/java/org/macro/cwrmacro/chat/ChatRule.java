@@ -0,0 +1,18 @@
+package org.macro.cwrmacro.chat;
+
+/**
+ * One pattern registered with a {@link ChatMatcher}, tagged with the value its handler receives.
+ * <p>
+ * Literal rules match the text anywhere in a message, ignoring case. Regex rules are found with
+ * {@link java.util.regex.Matcher#find()} and keep their own flags.
+ */
+public record ChatRule<T>(String pattern, boolean regex, T value) {
+
+    public static <T> ChatRule<T> literal(String text, T value) {
+        return new ChatRule<>(text, false, value);
+    }
+
+    public static <T> ChatRule<T> regex(String pattern, T value) {
+        return new ChatRule<>(pattern, true, value);
+    }
+}
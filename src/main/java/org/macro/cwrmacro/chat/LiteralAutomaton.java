@@ -0,0 +1,173 @@
+package org.macro.cwrmacro.chat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho–Corasick automaton over a fixed set of literals, matched case-insensitively.
+ * <p>
+ * Each state keeps its transitions as a sorted {@code char[]} with a parallel target array, so a step is a
+ * binary search and scanning a message allocates nothing. Output lists already include the outputs
+ * reachable through failure links.
+ */
+final class LiteralAutomaton {
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    static final LiteralAutomaton EMPTY = build(List.of());
+
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[][] outputs;
+
+    private LiteralAutomaton(char[][] keys, int[][] targets, int[] fail, int[][] outputs) {
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputs = outputs;
+    }
+
+    /**
+     * @param literals literal {@code i} is reported as index {@code i}; empty literals never match
+     */
+    static LiteralAutomaton build(List<String> literals) {
+        // Trie with growable per-state transition lists
+        List<StringBuilder> stateKeys = new ArrayList<>();
+        List<List<Integer>> stateTargets = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        addState(stateKeys, stateTargets, stateOutputs);
+
+        for (int i = 0; i < literals.size(); i++) {
+            String literal = literals.get(i);
+            if (literal == null || literal.isEmpty()) {
+                continue;
+            }
+
+            int state = 0;
+            for (int j = 0; j < literal.length(); j++) {
+                char c = fold(literal.charAt(j));
+                int index = stateKeys.get(state).indexOf(String.valueOf(c));
+                if (index >= 0) {
+                    state = stateTargets.get(state).get(index);
+                } else {
+                    int created = addState(stateKeys, stateTargets, stateOutputs);
+                    stateKeys.get(state).append(c);
+                    stateTargets.get(state).add(created);
+                    state = created;
+                }
+            }
+            stateOutputs.get(state).add(i);
+        }
+
+        int count = stateKeys.size();
+        char[][] keys = new char[count][];
+        int[][] targets = new int[count][];
+        for (int state = 0; state < count; state++) {
+            // Sort transitions by key for binary search
+            char[] unsortedKeys = stateKeys.get(state).toString().toCharArray();
+            Integer[] order = new Integer[unsortedKeys.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Character.compare(unsortedKeys[a], unsortedKeys[b]));
+
+            keys[state] = new char[order.length];
+            targets[state] = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[state][i] = unsortedKeys[order[i]];
+                targets[state][i] = stateTargets.get(state).get(order[i]);
+            }
+        }
+
+        // Failure links and merged outputs, breadth first so a state's fail target is finished before it
+        int[] fail = new int[count];
+        int[][] outputs = new int[count][];
+        outputs[0] = toArray(stateOutputs.get(0));
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> merged = stateOutputs.get(state);
+            int[] inherited = outputs[fail[state]];
+            for (int output : inherited) {
+                merged.add(output);
+            }
+            outputs[state] = toArray(merged);
+
+            for (int i = 0; i < keys[state].length; i++) {
+                char c = keys[state][i];
+                int child = targets[state][i];
+                int f = fail[state];
+                int next;
+                while ((next = step(keys, targets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = next >= 0 ? next : 0;
+                queue.add(child);
+            }
+        }
+
+        return new LiteralAutomaton(keys, targets, fail, outputs);
+    }
+
+    /**
+     * Mark every literal found in {@code text} by writing {@code stamp} at its index in {@code hits}
+     *
+     * @return true if any literal was found
+     */
+    boolean scan(String text, int[] hits, int stamp) {
+        boolean found = false;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            int next;
+            while ((next = step(keys, targets, state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = next >= 0 ? next : 0;
+
+            int[] out = outputs[state];
+            for (int output : out) {
+                hits[output] = stamp;
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Same folding as {@link java.util.regex.Pattern#UNICODE_CASE}, so a literal is found wherever a
+     * case-insensitive regex containing it could match
+     */
+    static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int step(char[][] keys, int[][] targets, int state, char c) {
+        int index = Arrays.binarySearch(keys[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+
+    private static int addState(List<StringBuilder> keys, List<List<Integer>> targets, List<List<Integer>> outputs) {
+        keys.add(new StringBuilder());
+        targets.add(new ArrayList<>());
+        outputs.add(new ArrayList<>());
+        return keys.size() - 1;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        if (values.isEmpty()) {
+            return NO_OUTPUTS;
+        }
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,225 @@
+package org.macro.cwrmacro.combat;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.registry.Registries;
+import org.macro.cwrmacro.env.GameEnvironment;
+import org.macro.cwrmacro.profiler.Throughput;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Follows every entity the TriggerBot swings at until it is removed, and turns that into per-type kill
+ * statistics.
+ * <p>
+ * A swing is wasted when it lands during the target's hurt animation (which mirrors the server's post-hit
+ * invulnerability window), on a target already at 0 health, or when no hurt animation followed it before
+ * the next swing. A target that reaches 0 health before it is removed counts as a kill; one that is removed
+ * while still alive is lost. Tracked targets live in fixed primitive arrays, so the per-tick scan does not
+ * allocate. Everything runs on the client thread.
+ */
+public final class KillTracker {
+    private static final int MAX_TRACKED = 16;
+
+    private static final int[] trackedIds = new int[MAX_TRACKED];
+    private static final int[] trackedTypes = new int[MAX_TRACKED];
+    private static final int[] swingCounts = new int[MAX_TRACKED];
+    private static final int[] lastHurtTimes = new int[MAX_TRACKED];
+    private static final long[] firstSwingMs = new long[MAX_TRACKED];
+    private static final long[] lastSwingMs = new long[MAX_TRACKED];
+    private static final long[] deathMs = new long[MAX_TRACKED];
+    private static final boolean[] unconfirmed = new boolean[MAX_TRACKED];
+    private static int trackedCount = 0;
+
+    // Indexed by entity type raw ID, grown on demand
+    private static TargetStats[] statsByType = new TargetStats[128];
+
+    static {
+        Arrays.fill(trackedIds, -1);
+    }
+
+    private KillTracker() {
+    }
+
+    /**
+     * Update tracked targets: confirm hits, note deaths and retire removed entities
+     */
+    public static void tick(GameEnvironment env) {
+        if (trackedCount == 0) {
+            return;
+        }
+
+        long now = env.currentTimeMillis();
+        for (int i = 0; i < MAX_TRACKED; i++) {
+            int id = trackedIds[i];
+            if (id < 0) {
+                continue;
+            }
+
+            float health = env.getTargetHealth(id);
+            if (health < 0) {
+                retire(i);
+                continue;
+            }
+
+            if (health == 0 && deathMs[i] == 0) {
+                deathMs[i] = now;
+            }
+
+            // A new hurt animation confirms the last swing registered
+            int hurtTime = env.getTargetHurtTime(id);
+            if (hurtTime > lastHurtTimes[i]) {
+                unconfirmed[i] = false;
+            }
+            lastHurtTimes[i] = hurtTime;
+        }
+    }
+
+    /**
+     * Whether a swing at the entity right now could deal damage
+     */
+    public static boolean canTakeDamage(GameEnvironment env, int entityId) {
+        return env.getTargetHealth(entityId) > 0 && env.getTargetHurtTime(entityId) == 0;
+    }
+
+    /**
+     * Record a swing that was sent at the entity
+     *
+     * @param damageable {@link #canTakeDamage} as checked just before the swing
+     * @return true if the swing was wasted
+     */
+    public static boolean onSwing(GameEnvironment env, int entityId, int typeRawId, boolean damageable) {
+        long now = env.currentTimeMillis();
+        int slot = find(entityId);
+        if (slot < 0) {
+            slot = track(entityId, typeRawId, now);
+        }
+
+        TargetStats stats = stats(typeRawId);
+        stats.swings++;
+        swingCounts[slot]++;
+        lastSwingMs[slot] = now;
+
+        boolean wasted = !damageable;
+        if (unconfirmed[slot]) {
+            // The previous swing never showed up as a hit
+            stats.wastedSwings++;
+        }
+        if (wasted) {
+            stats.wastedSwings++;
+        }
+
+        // A wasted swing is already counted, so it is not waited on for confirmation
+        unconfirmed[slot] = !wasted;
+        return wasted;
+    }
+
+    /**
+     * Record a swing held back because the target could not take damage
+     */
+    public static void onSkipped(int typeRawId) {
+        if (typeRawId >= 0) {
+            stats(typeRawId).skippedSwings++;
+        }
+    }
+
+    /**
+     * Forget tracked targets without counting them, e.g. when leaving a world
+     */
+    public static void clearTracked() {
+        Arrays.fill(trackedIds, -1);
+        trackedCount = 0;
+    }
+
+    public static void reset() {
+        clearTracked();
+        Arrays.fill(statsByType, null);
+    }
+
+    public static List<TargetStats> getStats() {
+        List<TargetStats> result = new ArrayList<>();
+        for (TargetStats stats : statsByType) {
+            if (stats != null) {
+                result.add(stats);
+            }
+        }
+        return result;
+    }
+
+    public static long getTotalKills() {
+        long kills = 0;
+        for (TargetStats stats : statsByType) {
+            if (stats != null) {
+                kills += stats.kills;
+            }
+        }
+        return kills;
+    }
+
+    public static String typeName(int rawId) {
+        EntityType<?> type = rawId < 0 ? null : Registries.ENTITY_TYPE.get(rawId);
+        return type == null ? "unknown" : Registries.ENTITY_TYPE.getId(type).toString();
+    }
+
+    private static int find(int entityId) {
+        for (int i = 0; i < MAX_TRACKED; i++) {
+            if (trackedIds[i] == entityId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int track(int entityId, int typeRawId, long now) {
+        int slot = find(-1);
+        if (slot < 0) {
+            // Full: give up on the target swung at least recently
+            slot = 0;
+            for (int i = 1; i < MAX_TRACKED; i++) {
+                if (lastSwingMs[i] < lastSwingMs[slot]) {
+                    slot = i;
+                }
+            }
+            retire(slot);
+        }
+
+        trackedIds[slot] = entityId;
+        trackedTypes[slot] = typeRawId;
+        swingCounts[slot] = 0;
+        lastHurtTimes[slot] = 0;
+        firstSwingMs[slot] = now;
+        lastSwingMs[slot] = now;
+        deathMs[slot] = 0;
+        unconfirmed[slot] = false;
+        trackedCount++;
+        return slot;
+    }
+
+    private static void retire(int slot) {
+        TargetStats stats = stats(trackedTypes[slot]);
+        if (deathMs[slot] != 0) {
+            stats.kills++;
+            Throughput.KILLS.record(deathMs[slot], 1);
+            stats.killSwings += swingCounts[slot];
+            stats.totalKillMs += deathMs[slot] - firstSwingMs[slot];
+        } else {
+            stats.lost++;
+        }
+
+        trackedIds[slot] = -1;
+        trackedCount--;
+    }
+
+    private static TargetStats stats(int typeRawId) {
+        if (typeRawId >= statsByType.length) {
+            statsByType = Arrays.copyOf(statsByType, Math.max(typeRawId + 1, statsByType.length * 2));
+        }
+        TargetStats stats = statsByType[typeRawId];
+        if (stats == null) {
+            stats = new TargetStats(typeRawId);
+            statsByType[typeRawId] = stats;
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,82 @@
+package org.macro.cwrmacro.combat;
+
+/**
+ * Kill statistics for one entity type, written by {@link KillTracker} on the client thread
+ */
+public final class TargetStats {
+    private final int typeRawId;
+    private final String typeName;
+
+    long swings = 0;
+    long wastedSwings = 0;
+    long skippedSwings = 0;
+    long kills = 0;
+    long lost = 0;
+    long killSwings = 0;
+    long totalKillMs = 0;
+
+    TargetStats(int typeRawId) {
+        this.typeRawId = typeRawId;
+        this.typeName = KillTracker.typeName(typeRawId);
+    }
+
+    public int getTypeRawId() {
+        return typeRawId;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public long getSwings() {
+        return swings;
+    }
+
+    /**
+     * Swings sent while the target was invulnerable or dying, or that no hurt animation followed
+     */
+    public long getWastedSwings() {
+        return wastedSwings;
+    }
+
+    /**
+     * Swings held back because the target could not take damage at the time
+     */
+    public long getSkippedSwings() {
+        return skippedSwings;
+    }
+
+    public long getKills() {
+        return kills;
+    }
+
+    /**
+     * Attacked entities that were removed without dying, e.g. despawned or out of range
+     */
+    public long getLost() {
+        return lost;
+    }
+
+    public double getSwingsPerKill() {
+        return kills == 0 ? 0 : (double) killSwings / kills;
+    }
+
+    /**
+     * Mean time from the first swing to the target reaching 0 health
+     */
+    public long getMeanTimeToKillMs() {
+        return kills == 0 ? 0 : totalKillMs / kills;
+    }
+
+    public String getSummary() {
+        return String.format("%s: kills=%d swings/kill=%.2f ttk=%dms wasted=%d/%d skipped=%d lost=%d",
+                typeName,
+                kills,
+                getSwingsPerKill(),
+                getMeanTimeToKillMs(),
+                wastedSwings,
+                swings,
+                skippedSwings,
+                lost);
+    }
+}
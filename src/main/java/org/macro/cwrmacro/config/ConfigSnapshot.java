@@ -0,0 +1,75 @@
+package org.macro.cwrmacro.config;
+
+import java.util.List;
+
+/**
+ * Immutable view of {@link FarmHandConfig}, taken from a sanitized config so the values are used as they are.
+ * <p>
+ * A new snapshot is published through a single volatile write every time the configuration is loaded,
+ * reset or saved. Readers capture one snapshot per tick or task and never see a half-applied change.
+ * Derived values such as resolved registry targets are computed once per publish.
+ */
+public final class ConfigSnapshot {
+    public final int revision;
+
+    public final boolean enabled;
+    public final boolean autoSellEnabled;
+    public final List<String> autoSellItemIds;
+    public final boolean triggerBotEnabled;
+    public final List<String> triggerBotEntityIds;
+
+    public final int autoSellDelay;
+    public final int triggerBotDelay;
+    public final int triggerBotSpeed;
+    public final boolean enableLogging;
+    public final boolean enableSounds;
+    public final int inventoryThreshold;
+    public final List<String> sellSuccessPatterns;
+    public final List<String> sellFailurePatterns;
+    public final List<String> sellCooldownPatterns;
+    public final boolean metricsEnabled;
+    public final int metricsPort;
+
+    // Derived values
+    public final ItemTargetSet sellItems;
+    public final EntityTargetMatcher targets;
+    public final SellResponsePatterns sellResponses;
+    public final String autoSellItemsText;
+    public final String triggerBotEntitiesText;
+
+    ConfigSnapshot(FarmHandConfig config, int revision) {
+        this.revision = revision;
+
+        this.enabled = config.enabled;
+        this.autoSellEnabled = config.autoSellEnabled;
+        this.autoSellItemIds = List.copyOf(config.autoSellItemIds);
+        this.triggerBotEnabled = config.triggerBotEnabled;
+        this.triggerBotEntityIds = List.copyOf(config.triggerBotEntityIds);
+
+        this.autoSellDelay = config.autoSellDelay;
+        this.triggerBotDelay = config.triggerBotDelay;
+        this.triggerBotSpeed = config.triggerBotSpeed;
+        this.enableLogging = config.enableLogging;
+        this.enableSounds = config.enableSounds;
+        this.inventoryThreshold = config.inventoryThreshold;
+        this.sellSuccessPatterns = List.copyOf(config.sellSuccessPatterns);
+        this.sellFailurePatterns = List.copyOf(config.sellFailurePatterns);
+        this.sellCooldownPatterns = List.copyOf(config.sellCooldownPatterns);
+        this.metricsEnabled = config.metricsEnabled;
+        this.metricsPort = config.metricsPort;
+
+        this.sellItems = ItemTargetSet.compile(autoSellItemIds);
+        this.targets = EntityTargetMatcher.compile(triggerBotEntityIds);
+        this.sellResponses = SellResponsePatterns.compile(sellSuccessPatterns, sellFailurePatterns, sellCooldownPatterns);
+        this.autoSellItemsText = FarmHandConfig.formatIdList(autoSellItemIds);
+        this.triggerBotEntitiesText = FarmHandConfig.formatIdList(triggerBotEntityIds);
+    }
+
+    /**
+     * Build an unpublished snapshot of a sanitized copy of {@code config}, for tools and benchmarks that run
+     * without the mod
+     */
+    public static ConfigSnapshot of(FarmHandConfig config) {
+        return new ConfigSnapshot(config.copy(), 0);
+    }
+}
@@ -0,0 +1,151 @@
+package org.macro.cwrmacro.config;
+
+import net.minecraft.client.MinecraftClient;
+import org.macro.cwrmacro.CWRXPMactro;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reloads {@code farmhand.json} when it is changed by something other than this mod.
+ * <p>
+ * The config directory is watched on a daemon thread. Events are debounced until the file has been quiet
+ * for {@link #DEBOUNCE_MS}, then the file is parsed and validated off the client thread. Content that
+ * matches the last write from {@link ConfigWriter} is ignored, so the mod's own saves never trigger a
+ * reload. Accepted configurations are applied on the client thread, which only copies fields and publishes
+ * a new snapshot.
+ */
+public final class ConfigWatcher {
+    private static final long DEBOUNCE_MS = 250;
+
+    private static volatile WatchService watchService = null;
+    private static volatile Thread watchThread = null;
+    private static final AtomicLong reloadCount = new AtomicLong(0);
+
+    private ConfigWatcher() {
+    }
+
+    public static synchronized void start() {
+        if (watchThread != null) {
+            return;
+        }
+
+        Path configFile = FarmHandConfig.getConfigPath();
+        Path configDir = configFile.toAbsolutePath().getParent();
+        if (configDir == null) {
+            CWRXPMactro.LOGGER.warn("Config file has no parent directory, hot-reload disabled");
+            return;
+        }
+
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            configDir.register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+        } catch (IOException e) {
+            CWRXPMactro.LOGGER.error("Failed to watch config directory, hot-reload disabled", e);
+            return;
+        }
+
+        Path fileName = configFile.getFileName();
+        Thread thread = new Thread(() -> watchLoop(fileName), "FarmHand Config Watcher");
+        thread.setDaemon(true);
+        thread.start();
+        watchThread = thread;
+
+        CWRXPMactro.LOGGER.info("Watching {} for changes", configFile);
+    }
+
+    public static synchronized void stop() {
+        Thread thread = watchThread;
+        WatchService service = watchService;
+        watchThread = null;
+        watchService = null;
+
+        if (thread != null) {
+            thread.interrupt();
+        }
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                CWRXPMactro.LOGGER.debug("Error closing config watch service", e);
+            }
+        }
+    }
+
+    /**
+     * Number of external edits applied since startup
+     */
+    public static long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    private static void watchLoop(Path fileName) {
+        WatchService service = watchService;
+        try {
+            while (service != null && !Thread.currentThread().isInterrupted()) {
+                if (!drain(service.take(), fileName)) {
+                    continue;
+                }
+
+                // Wait until the file has been quiet for the debounce window
+                WatchKey key;
+                while ((key = service.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(key, fileName);
+                }
+
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Config watcher stopped unexpectedly", e);
+        }
+    }
+
+    /**
+     * Consume the events of a key and re-arm it
+     *
+     * @return true if any event concerned the config file
+     */
+    private static boolean drain(WatchKey key, Path fileName) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    private static void reload() {
+        FarmHandConfig loaded = FarmHandConfig.readValidated();
+        if (loaded == null || ConfigWriter.isLastWritten(loaded)) {
+            return;
+        }
+
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client == null) {
+            return;
+        }
+
+        client.execute(() -> {
+            FarmHandConfig config = FarmHandConfig.getInstance();
+            if (!config.equals(loaded)) {
+                config.applyReloaded(loaded);
+                reloadCount.incrementAndGet();
+            }
+        });
+    }
+}
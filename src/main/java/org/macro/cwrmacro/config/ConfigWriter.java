@@ -0,0 +1,154 @@
+package org.macro.cwrmacro.config;
+
+import org.macro.cwrmacro.CWRXPMactro;
+import org.macro.cwrmacro.profiler.ConfigSaveEvent;
+import org.macro.cwrmacro.profiler.FarmHandProfiler;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background writer for {@code farmhand.json}.
+ * <p>
+ * Save requests capture a copy of the configuration and are debounced, so a burst of toggles turns into
+ * a single write once things settle. A write is skipped when the content matches what is already on disk.
+ * {@link #flush()} writes anything still pending on the calling thread and runs when the client stops.
+ */
+public final class ConfigWriter {
+    private static final long DEBOUNCE_MS = 500;
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "FarmHand Config Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Object FILE_LOCK = new Object();
+
+    // Guarded by ConfigWriter.class
+    private static FarmHandConfig pendingCopy = null;
+    private static FarmHandConfig pendingSource = null;
+    private static ScheduledFuture<?> pendingWrite = null;
+
+    // Guarded by FILE_LOCK
+    private static FarmHandConfig lastWritten = null;
+
+    private ConfigWriter() {
+    }
+
+    /**
+     * Queue {@code config} to be written once no further request arrives within the debounce window
+     */
+    public static void request(FarmHandConfig config) {
+        FarmHandConfig copy = config.copy();
+
+        synchronized (ConfigWriter.class) {
+            pendingCopy = copy;
+            pendingSource = config;
+            if (pendingWrite != null) {
+                pendingWrite.cancel(false);
+            }
+            pendingWrite = EXECUTOR.schedule(ConfigWriter::writePending, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Write any pending request immediately on the calling thread
+     */
+    public static void flush() {
+        writePending();
+    }
+
+    /**
+     * Drop any pending request, e.g. before the file is replaced from a backup
+     */
+    public static void discardPending() {
+        synchronized (ConfigWriter.class) {
+            takePending();
+        }
+    }
+
+    /**
+     * Record content known to be on disk, so an identical save does not rewrite it
+     */
+    static void markWritten(FarmHandConfig config) {
+        synchronized (FILE_LOCK) {
+            lastWritten = config.copy();
+        }
+    }
+
+    /**
+     * Whether {@code config} matches the content this writer last put on disk
+     */
+    static boolean isLastWritten(FarmHandConfig config) {
+        synchronized (FILE_LOCK) {
+            return config.equals(lastWritten);
+        }
+    }
+
+    public static boolean hasPendingWrite() {
+        synchronized (ConfigWriter.class) {
+            return pendingCopy != null;
+        }
+    }
+
+    private static void writePending() {
+        // Holding the file lock while taking the request makes flush() wait for an in-flight write
+        synchronized (FILE_LOCK) {
+            FarmHandConfig copy;
+            FarmHandConfig source;
+            synchronized (ConfigWriter.class) {
+                copy = pendingCopy;
+                source = pendingSource;
+                takePending();
+            }
+            if (copy == null) {
+                return;
+            }
+
+            ConfigSaveEvent event = FarmHandProfiler.beginConfigSave();
+            String outcome = "unchanged";
+            try {
+                if (copy.equals(lastWritten)) {
+                    CWRXPMactro.LOGGER.debug("Configuration unchanged, skipping write");
+                } else {
+                    try {
+                        int bytes = copy.writeFile();
+                        lastWritten = copy;
+                        outcome = "written";
+                        if (event != null) {
+                            event.bytes = bytes;
+                        }
+                    } catch (Exception e) {
+                        outcome = "failed";
+                        CWRXPMactro.LOGGER.error("Failed to save configuration", e);
+                        return;
+                    }
+                }
+            } finally {
+                if (event != null) {
+                    event.outcome = outcome;
+                    event.commit();
+                }
+            }
+
+            synchronized (ConfigWriter.class) {
+                // A newer request keeps the source dirty until it is written as well
+                if (pendingCopy == null) {
+                    source.markClean();
+                }
+            }
+        }
+    }
+
+    private static void takePending() {
+        if (pendingWrite != null) {
+            pendingWrite.cancel(false);
+            pendingWrite = null;
+        }
+        pendingCopy = null;
+        pendingSource = null;
+    }
+}
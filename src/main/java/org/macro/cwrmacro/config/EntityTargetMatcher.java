@@ -0,0 +1,62 @@
+package org.macro.cwrmacro.config;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import org.macro.cwrmacro.CWRXPMactro;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Entity target set resolved once from the configured entity IDs.
+ * Membership is a single bit test keyed by the entity type's registry raw ID.
+ */
+public final class EntityTargetMatcher {
+    public static final EntityTargetMatcher NONE = new EntityTargetMatcher(new BitSet());
+
+    private final BitSet targetRawIds;
+
+    private EntityTargetMatcher(BitSet targetRawIds) {
+        this.targetRawIds = targetRawIds;
+    }
+
+    /**
+     * Resolve entity IDs against the registry, skipping invalid or unknown entries
+     */
+    public static EntityTargetMatcher compile(List<String> entityIds) {
+        if (entityIds == null || entityIds.isEmpty()) {
+            return NONE;
+        }
+
+        BitSet rawIds = new BitSet();
+        for (String entityId : entityIds) {
+            try {
+                if (entityId == null || entityId.trim().isEmpty()) {
+                    continue;
+                }
+
+                Identifier identifier = Identifier.tryParse(entityId.toLowerCase().trim());
+                if (identifier == null || !Registries.ENTITY_TYPE.containsId(identifier)) {
+                    CWRXPMactro.LOGGER.warn("Unknown TriggerBot target entity: {}", entityId);
+                    continue;
+                }
+
+                rawIds.set(Registries.ENTITY_TYPE.getRawId(Registries.ENTITY_TYPE.get(identifier)));
+            } catch (Exception e) {
+                CWRXPMactro.LOGGER.error("Error compiling target entity: " + entityId, e);
+            }
+        }
+
+        return rawIds.isEmpty() ? NONE : new EntityTargetMatcher(rawIds);
+    }
+
+    public boolean matches(Entity entity) {
+        return entity instanceof LivingEntity && matchesRawId(Registries.ENTITY_TYPE.getRawId(entity.getType()));
+    }
+
+    public boolean matchesRawId(int rawId) {
+        return rawId >= 0 && targetRawIds.get(rawId);
+    }
+}
@@ -10,12 +10,18 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 public class FarmHandConfig {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final String CONFIG_VERSION = "1.0.0";
     private static final String CONFIG_FILE_NAME = "farmhand.json";
+    private static final Pattern NAMESPACE_PATTERN = Pattern.compile("^[a-z0-9_]+$");
+    private static final Pattern PATH_PATTERN = Pattern.compile("^[a-z0-9_/]+$");
+    static final int DEFAULT_METRICS_PORT = 9464;
 
     // Configuration metadata
     public String configVersion = CONFIG_VERSION;
@@ -24,9 +30,13 @@ public class FarmHandConfig {
     // Configuration fields with safe defaults
     public boolean enabled = true;
     public boolean autoSellEnabled = true;
-    public String autoSellItemId = "minecraft:diamond";
+    public List<String> autoSellItemIds = defaultItemIds();
     public boolean triggerBotEnabled = false;
-    public String triggerBotEntityId = "minecraft:zombie";
+    public List<String> triggerBotEntityIds = defaultEntityIds();
+
+    // Legacy single-value fields, only read from old config files and migrated into the lists above
+    public String autoSellItemId = null;
+    public String triggerBotEntityId = null;
 
     // Advanced settings
     public int autoSellDelay = 3000;
@@ -36,22 +46,73 @@ public class FarmHandConfig {
     public boolean enableSounds = true;
     public int inventoryThreshold = 30;
 
-    private static FarmHandConfig instance;
+    // Server responses to /sell hand, as regular expressions matched against the plain message text
+    public List<String> sellSuccessPatterns = defaultSellSuccessPatterns();
+    public List<String> sellFailurePatterns = defaultSellFailurePatterns();
+    public List<String> sellCooldownPatterns = defaultSellCooldownPatterns();
+
+    // Prometheus metrics endpoint, bound to localhost only
+    public boolean metricsEnabled = false;
+    public int metricsPort = DEFAULT_METRICS_PORT;
+
+    private static volatile FarmHandConfig instance;
+    private static volatile ConfigSnapshot snapshot;
+    private static int revisionCounter = 0;
     private static Path configPath;
-    private boolean isDirty = false;
+    private transient volatile boolean isDirty = false;
+
+    // Only the shared instance publishes snapshots; copies edited by the config screen do not
+    private transient boolean live = false;
 
     public static FarmHandConfig getInstance() {
-        if (instance == null) {
-            instance = new FarmHandConfig();
-            instance.load();
+        FarmHandConfig config = instance;
+        if (config == null) {
+            synchronized (FarmHandConfig.class) {
+                config = instance;
+                if (config == null) {
+                    config = new FarmHandConfig();
+                    config.live = true;
+                    config.load();
+                    instance = config;
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Current immutable view of the configuration, safe to read from any thread
+     */
+    public static ConfigSnapshot snapshot() {
+        ConfigSnapshot current = snapshot;
+        if (current == null) {
+            FarmHandConfig config = getInstance();
+            current = snapshot;
+            if (current == null) {
+                config.publish();
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Publish the current field values as a new snapshot
+     */
+    public void publish() {
+        if (!live) {
+            return;
+        }
+
+        synchronized (FarmHandConfig.class) {
+            snapshot = new ConfigSnapshot(this, ++revisionCounter);
         }
-        return instance;
     }
 
     /**
      * Get config path with error handling
      */
-    private static Path getConfigPath() {
+    static Path getConfigPath() {
         if (configPath == null) {
             try {
                 Path configDir = FabricLoader.getInstance().getConfigDir();
@@ -93,14 +154,14 @@ public class FarmHandConfig {
                         FarmHandConfig loaded = GSON.fromJson(json, FarmHandConfig.class);
 
                         if (loaded != null) {
-                            copyFrom(loaded);
-
-                            // Validate loaded configuration
-                            if (!isValid()) {
+                            // Validate before copying, so only sanitized values are published
+                            if (!loaded.isValid()) {
                                 CWRXPMactro.LOGGER.warn("Invalid configuration detected, using defaults for invalid fields");
-                                sanitizeConfig();
+                                loaded.sanitizeConfig();
                             }
 
+                            copyFrom(loaded);
+
                             CWRXPMactro.LOGGER.info("Configuration loaded successfully from: {}", configFile);
                         } else {
                             CWRXPMactro.LOGGER.warn("Configuration file is empty or corrupted, using defaults");
@@ -121,18 +182,67 @@ public class FarmHandConfig {
             } else {
                 CWRXPMactro.LOGGER.info("No configuration file found, creating with defaults");
                 resetToDefaults();
-                save(); // Create the file with defaults
+                saveNow(); // Create the file with defaults
             }
         } catch (Exception e) {
             CWRXPMactro.LOGGER.error("Unexpected error loading configuration, using defaults", e);
             resetToDefaults();
         }
 
+        ConfigWriter.markWritten(this);
+        isDirty = false;
+    }
+
+    /**
+     * Read and validate the config file without touching any instance.
+     * Unlike {@link #load()}, nothing is sanitized: a file that fails validation is rejected.
+     *
+     * @return the parsed configuration, or null if the file is missing, unreadable or invalid
+     */
+    static FarmHandConfig readValidated() {
+        Path configFile = getConfigPath();
+        try {
+            if (!Files.exists(configFile)) {
+                return null;
+            }
+
+            String json = Files.readString(configFile);
+            if (json == null || json.trim().isEmpty()) {
+                CWRXPMactro.LOGGER.warn("Ignoring empty configuration file: {}", configFile);
+                return null;
+            }
+
+            FarmHandConfig parsed = GSON.fromJson(json, FarmHandConfig.class);
+            if (parsed == null || !parsed.isValid()) {
+                CWRXPMactro.LOGGER.warn("Ignoring invalid configuration file: {}", configFile);
+                return null;
+            }
+
+            FarmHandConfig loaded = new FarmHandConfig();
+            loaded.copyFrom(parsed);
+            return loaded;
+        } catch (JsonSyntaxException e) {
+            CWRXPMactro.LOGGER.warn("Ignoring configuration file with invalid JSON: {}", configFile);
+        } catch (IOException e) {
+            CWRXPMactro.LOGGER.warn("Failed to read configuration file: {}", configFile, e);
+        }
+        return null;
+    }
+
+    /**
+     * Replace the current values with a configuration reloaded from disk and publish them
+     */
+    void applyReloaded(FarmHandConfig loaded) {
+        // The file on disk is newer than any queued save
+        ConfigWriter.discardPending();
+        copyFrom(loaded);
+        ConfigWriter.markWritten(this);
         isDirty = false;
+        CWRXPMactro.LOGGER.info("Configuration reloaded from disk");
     }
 
     /**
-     * Save configuration to file with error handling
+     * Apply the configuration to running modules and queue it to be written in the background
      */
     public void save() {
         try {
@@ -146,45 +256,73 @@ public class FarmHandConfig {
                 sanitizeConfig();
             }
 
-            Path configFile = getConfigPath();
-            String json = GSON.toJson(this);
-            
-            // Ensure parent directory exists
-            Path parentDir = configFile.getParent();
-            if (parentDir != null && !Files.exists(parentDir)) {
-                Files.createDirectories(parentDir);
-            }
-            
-            // Write to temporary file first, then move (atomic operation)
-            Path tempFile = configFile.resolveSibling(configFile.getFileName() + ".tmp");
-            Files.writeString(tempFile, json);
-            Files.move(tempFile, configFile, StandardCopyOption.REPLACE_EXISTING);
-
-            isDirty = false;
-            CWRXPMactro.LOGGER.info("Configuration saved successfully to: {}", configFile);
+            // Apply to running modules even if the write fails
+            publish();
 
+            markDirty();
+            ConfigWriter.request(this);
         } catch (Exception e) {
             CWRXPMactro.LOGGER.error("Failed to save configuration", e);
         }
     }
 
+    /**
+     * Save and write to disk before returning
+     */
+    public void saveNow() {
+        save();
+        ConfigWriter.flush();
+    }
+
+    /**
+     * Serialize and write this configuration, called by {@link ConfigWriter}
+     *
+     * @return number of characters written
+     */
+    int writeFile() throws IOException {
+        Path configFile = getConfigPath();
+        String json = GSON.toJson(this);
+
+        // Ensure parent directory exists
+        Path parentDir = configFile.getParent();
+        if (parentDir != null && !Files.exists(parentDir)) {
+            Files.createDirectories(parentDir);
+        }
+
+        // Write to temporary file first, then move (atomic operation)
+        Path tempFile = configFile.resolveSibling(configFile.getFileName() + ".tmp");
+        Files.writeString(tempFile, json);
+        Files.move(tempFile, configFile, StandardCopyOption.REPLACE_EXISTING);
+
+        CWRXPMactro.LOGGER.info("Configuration saved successfully to: {}", configFile);
+        return json.length();
+    }
+
     /**
      * Reset all settings to safe default values
      */
     public void resetToDefaults() {
         enabled = true;
         autoSellEnabled = true;
-        autoSellItemId = "minecraft:diamond";
+        autoSellItemIds = defaultItemIds();
+        autoSellItemId = null;
         triggerBotEnabled = false;
-        triggerBotEntityId = "minecraft:zombie";
+        triggerBotEntityIds = defaultEntityIds();
+        triggerBotEntityId = null;
         autoSellDelay = 3000;
         triggerBotDelay = 500;
         triggerBotSpeed = 0;
         enableLogging = true;
         enableSounds = true;
         inventoryThreshold = 30;
+        sellSuccessPatterns = defaultSellSuccessPatterns();
+        sellFailurePatterns = defaultSellFailurePatterns();
+        sellCooldownPatterns = defaultSellCooldownPatterns();
+        metricsEnabled = false;
+        metricsPort = DEFAULT_METRICS_PORT;
         configVersion = CONFIG_VERSION;
         lastModified = System.currentTimeMillis();
+        publish();
 
         markDirty();
         CWRXPMactro.LOGGER.info("Configuration reset to defaults");
@@ -203,39 +341,84 @@ public class FarmHandConfig {
         this.lastModified = other.lastModified;
         this.enabled = other.enabled;
         this.autoSellEnabled = other.autoSellEnabled;
-        this.autoSellItemId = other.autoSellItemId != null ? other.autoSellItemId : "minecraft:diamond";
+        if (other.autoSellItemId != null) {
+            // Migrate the legacy single-item field
+            this.autoSellItemIds = new ArrayList<>(List.of(other.autoSellItemId));
+        } else {
+            this.autoSellItemIds = other.autoSellItemIds != null && !other.autoSellItemIds.isEmpty()
+                    ? new ArrayList<>(other.autoSellItemIds) : defaultItemIds();
+        }
+        this.autoSellItemId = null;
         this.triggerBotEnabled = other.triggerBotEnabled;
-        this.triggerBotEntityId = other.triggerBotEntityId != null ? other.triggerBotEntityId : "minecraft:zombie";
-        this.autoSellDelay = other.autoSellDelay > 0 ? other.autoSellDelay : 3000;
-        this.triggerBotDelay = other.triggerBotDelay > 0 ? other.triggerBotDelay : 500;
-        this.triggerBotSpeed = other.triggerBotSpeed >= 0 ? other.triggerBotSpeed : 0;
+        if (other.triggerBotEntityId != null) {
+            // Migrate the legacy single-target field
+            this.triggerBotEntityIds = new ArrayList<>(List.of(other.triggerBotEntityId));
+        } else {
+            this.triggerBotEntityIds = other.triggerBotEntityIds != null && !other.triggerBotEntityIds.isEmpty()
+                    ? new ArrayList<>(other.triggerBotEntityIds) : defaultEntityIds();
+        }
+        this.triggerBotEntityId = null;
+        this.autoSellDelay = other.autoSellDelay;
+        this.triggerBotDelay = other.triggerBotDelay;
+        this.triggerBotSpeed = other.triggerBotSpeed;
         this.enableLogging = other.enableLogging;
         this.enableSounds = other.enableSounds;
-        this.inventoryThreshold = other.inventoryThreshold > 0 && other.inventoryThreshold <= 36 ? other.inventoryThreshold : 30;
+        this.inventoryThreshold = other.inventoryThreshold;
+        this.sellSuccessPatterns = other.sellSuccessPatterns != null
+                ? new ArrayList<>(other.sellSuccessPatterns) : defaultSellSuccessPatterns();
+        this.sellFailurePatterns = other.sellFailurePatterns != null
+                ? new ArrayList<>(other.sellFailurePatterns) : defaultSellFailurePatterns();
+        this.sellCooldownPatterns = other.sellCooldownPatterns != null
+                ? new ArrayList<>(other.sellCooldownPatterns) : defaultSellCooldownPatterns();
+        this.metricsEnabled = other.metricsEnabled;
+        this.metricsPort = other.metricsPort;
+
+        // Snapshots take the values as they are, so nothing invalid may be published
+        if (!isValid()) {
+            sanitizeConfig();
+        }
+        publish();
     }
 
     /**
-     * Validate configuration values
+     * Validate configuration values, including legacy fields still waiting to be migrated
      */
     private boolean isValid() {
-        return isValidItemId(autoSellItemId) &&
-                isValidEntityId(triggerBotEntityId) &&
+        return (autoSellItemId == null || isValidItemId(autoSellItemId)) &&
+                (triggerBotEntityId == null || isValidEntityId(triggerBotEntityId)) &&
+                isValidIdList(autoSellItemIds) &&
+                isValidIdList(triggerBotEntityIds) &&
                 autoSellDelay > 0 &&
                 triggerBotDelay > 0 &&
                 triggerBotSpeed >= 0 &&
-                inventoryThreshold > 0 && inventoryThreshold <= 36;
+                inventoryThreshold > 0 && inventoryThreshold <= 36 &&
+                isValidPatternList(sellSuccessPatterns) &&
+                isValidPatternList(sellFailurePatterns) &&
+                isValidPatternList(sellCooldownPatterns) &&
+                isValidPort(metricsPort);
     }
 
     /**
      * Sanitize configuration by replacing invalid values with defaults
      */
     private void sanitizeConfig() {
-        if (!isValidItemId(autoSellItemId)) {
-            autoSellItemId = "minecraft:diamond";
+        // An invalid legacy value is dropped, so migration keeps the list
+        if (autoSellItemId != null && !isValidItemId(autoSellItemId)) {
+            autoSellItemId = null;
+        }
+
+        if (triggerBotEntityId != null && !isValidEntityId(triggerBotEntityId)) {
+            triggerBotEntityId = null;
         }
 
-        if (!isValidEntityId(triggerBotEntityId)) {
-            triggerBotEntityId = "minecraft:zombie";
+        if (!isValidIdList(autoSellItemIds)) {
+            List<String> validIds = filterValidIds(autoSellItemIds);
+            autoSellItemIds = validIds.isEmpty() ? defaultItemIds() : validIds;
+        }
+
+        if (!isValidIdList(triggerBotEntityIds)) {
+            List<String> validIds = filterValidIds(triggerBotEntityIds);
+            triggerBotEntityIds = validIds.isEmpty() ? defaultEntityIds() : validIds;
         }
 
         if (autoSellDelay <= 0) {
@@ -253,54 +436,161 @@ public class FarmHandConfig {
         if (inventoryThreshold <= 0 || inventoryThreshold > 36) {
             inventoryThreshold = 30;
         }
+
+        sellSuccessPatterns = sellSuccessPatterns != null
+                ? filterValidPatterns(sellSuccessPatterns) : defaultSellSuccessPatterns();
+        sellFailurePatterns = sellFailurePatterns != null
+                ? filterValidPatterns(sellFailurePatterns) : defaultSellFailurePatterns();
+        sellCooldownPatterns = sellCooldownPatterns != null
+                ? filterValidPatterns(sellCooldownPatterns) : defaultSellCooldownPatterns();
+
+        if (!isValidPort(metricsPort)) {
+            metricsPort = DEFAULT_METRICS_PORT;
+        }
+    }
+
+    /**
+     * Unprivileged TCP port
+     */
+    public static boolean isValidPort(int port) {
+        return port >= 1024 && port <= 65535;
     }
 
     /**
      * Validate item ID format with null safety
      */
     public static boolean isValidItemId(String itemId) {
-        if (itemId == null || itemId.trim().isEmpty()) {
+        return isValidId(itemId);
+    }
+
+    /**
+     * Validate entity ID format with null safety
+     */
+    public static boolean isValidEntityId(String entityId) {
+        return isValidId(entityId);
+    }
+
+    /**
+     * Validate a namespace:path ID using the precompiled patterns
+     */
+    private static boolean isValidId(String id) {
+        if (id == null || id.isEmpty()) {
             return false;
         }
 
-        try {
-            String[] parts = itemId.split(":");
-            if (parts.length != 2) {
-                return false;
-            }
+        int separator = id.indexOf(':');
+        if (separator <= 0 || separator == id.length() - 1 || id.indexOf(':', separator + 1) >= 0) {
+            return false;
+        }
 
-            String namespace = parts[0];
-            String name = parts[1];
+        return NAMESPACE_PATTERN.matcher(id).region(0, separator).matches() &&
+                PATH_PATTERN.matcher(id).region(separator + 1, id.length()).matches();
+    }
 
-            return namespace.matches("^[a-z0-9_]+$") &&
-                    name.matches("^[a-z0-9_/]+$");
-        } catch (Exception e) {
+    /**
+     * Validate a non-empty list of IDs
+     */
+    public static boolean isValidIdList(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
             return false;
         }
+
+        for (String id : ids) {
+            if (!isValidId(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static List<String> filterValidIds(List<String> ids) {
+        List<String> validIds = new ArrayList<>();
+        if (ids != null) {
+            for (String id : ids) {
+                if (isValidId(id) && !validIds.contains(id)) {
+                    validIds.add(id);
+                }
+            }
+        }
+        return validIds;
     }
 
     /**
-     * Validate entity ID format with null safety
+     * Validate a list of regular expressions; an empty list disables that kind of response
      */
-    public static boolean isValidEntityId(String entityId) {
-        if (entityId == null || entityId.trim().isEmpty()) {
+    public static boolean isValidPatternList(List<String> patterns) {
+        if (patterns == null) {
             return false;
         }
 
-        try {
-            String[] parts = entityId.split(":");
-            if (parts.length != 2) {
+        for (String pattern : patterns) {
+            if (!SellResponsePatterns.isValidPattern(pattern)) {
                 return false;
             }
+        }
+        return true;
+    }
+
+    static List<String> filterValidPatterns(List<String> patterns) {
+        List<String> validPatterns = new ArrayList<>();
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                if (SellResponsePatterns.isValidPattern(pattern) && !validPatterns.contains(pattern)) {
+                    validPatterns.add(pattern);
+                }
+            }
+        }
+        return validPatterns;
+    }
 
-            String namespace = parts[0];
-            String name = parts[1];
+    /**
+     * Parse a comma separated list of IDs, dropping blanks and duplicates
+     */
+    public static List<String> parseIdList(String text) {
+        List<String> ids = new ArrayList<>();
+        if (text == null) {
+            return ids;
+        }
 
-            return namespace.matches("^[a-z0-9_]+$") &&
-                    name.matches("^[a-z0-9_/]+$");
-        } catch (Exception e) {
-            return false;
+        for (String part : text.split(",")) {
+            String id = part.trim().toLowerCase();
+            if (!id.isEmpty() && !ids.contains(id)) {
+                ids.add(id);
+            }
         }
+        return ids;
+    }
+
+    public static String formatIdList(List<String> ids) {
+        return ids == null ? "" : String.join(", ", ids);
+    }
+
+    private static List<String> defaultItemIds() {
+        return new ArrayList<>(List.of("minecraft:diamond"));
+    }
+
+    private static List<String> defaultEntityIds() {
+        return new ArrayList<>(List.of("minecraft:zombie"));
+    }
+
+    // Defaults cover the wording of the common economy plugins. Refusals and cooldowns must mention selling,
+    // so unrelated chat such as another command's cooldown is not taken as the answer to /sell hand.
+    private static List<String> defaultSellSuccessPatterns() {
+        return new ArrayList<>(List.of("(?i)\\bsold\\b.*?\\$\\s?(?<amount>[\\d,]+(?:\\.\\d+)?)", "(?i)\\byou sold\\b"));
+    }
+
+    private static List<String> defaultSellFailurePatterns() {
+        return new ArrayList<>(List.of("(?i)(cannot|can't|can not) be sold",
+                "(?i)nothing (to sell|that can be sold)",
+                "(?i)you (do not|don't) have (enough|any)\\b.*\\bto sell",
+                "(?i)sell air"));
+    }
+
+    private static List<String> defaultSellCooldownPatterns() {
+        return new ArrayList<>(List.of("(?i)\\bsell(ing)?\\b.*\\bcooldown\\b",
+                "(?i)\\bcooldown\\b.*\\bsell(ing)?\\b",
+                "(?i)\\bwait\\b.*\\bbefore\\b.*\\bsell(ing)?\\b",
+                "(?i)\\bsell(ing)? too (fast|quickly)"));
     }
 
     /**
@@ -327,8 +617,15 @@ public class FarmHandConfig {
         return isDirty;
     }
 
+    void markClean() {
+        isDirty = false;
+    }
+
     public void createBackup() {
         try {
+            // Back up what is about to be on disk, not a stale file
+            ConfigWriter.flush();
+
             Path configFile = getConfigPath();
             if (Files.exists(configFile)) {
                 Path backupPath = configFile.resolveSibling(configFile.getFileName() + ".backup");
@@ -345,6 +642,8 @@ public class FarmHandConfig {
             Path configFile = getConfigPath();
             Path backupPath = configFile.resolveSibling(configFile.getFileName() + ".backup");
             if (Files.exists(backupPath)) {
+                // A queued write would overwrite the restored file
+                ConfigWriter.discardPending();
                 Files.copy(backupPath, configFile, StandardCopyOption.REPLACE_EXISTING);
                 load(); // Reload from the restored file
                 CWRXPMactro.LOGGER.info("Configuration restored from backup");
@@ -363,10 +662,10 @@ public class FarmHandConfig {
                 configVersion,
                 enabled ? "ON" : "OFF",
                 autoSellEnabled ? "ON" : "OFF",
-                autoSellItemId,
+                formatIdList(autoSellItemIds),
                 autoSellDelay,
                 triggerBotEnabled ? "ON" : "OFF",
-                triggerBotEntityId,
+                formatIdList(triggerBotEntityIds),
                 triggerBotSpeed == 0 ? "INSTANT" : triggerBotSpeed + "ms",
                 inventoryThreshold
         );
@@ -387,15 +686,21 @@ public class FarmHandConfig {
                 enableLogging == that.enableLogging &&
                 enableSounds == that.enableSounds &&
                 inventoryThreshold == that.inventoryThreshold &&
-                Objects.equals(autoSellItemId, that.autoSellItemId) &&
-                Objects.equals(triggerBotEntityId, that.triggerBotEntityId);
+                Objects.equals(autoSellItemIds, that.autoSellItemIds) &&
+                Objects.equals(triggerBotEntityIds, that.triggerBotEntityIds) &&
+                Objects.equals(sellSuccessPatterns, that.sellSuccessPatterns) &&
+                Objects.equals(sellFailurePatterns, that.sellFailurePatterns) &&
+                Objects.equals(sellCooldownPatterns, that.sellCooldownPatterns) &&
+                metricsEnabled == that.metricsEnabled &&
+                metricsPort == that.metricsPort;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(enabled, autoSellEnabled, autoSellItemId,
-                triggerBotEnabled, triggerBotEntityId,
-                autoSellDelay, triggerBotDelay, triggerBotSpeed, enableLogging, enableSounds, inventoryThreshold);
+        return Objects.hash(enabled, autoSellEnabled, autoSellItemIds,
+                triggerBotEnabled, triggerBotEntityIds,
+                autoSellDelay, triggerBotDelay, triggerBotSpeed, enableLogging, enableSounds, inventoryThreshold,
+                sellSuccessPatterns, sellFailurePatterns, sellCooldownPatterns, metricsEnabled, metricsPort);
     }
 
     @Override
@@ -0,0 +1,66 @@
+package org.macro.cwrmacro.config;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import org.macro.cwrmacro.CWRXPMactro;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Sell items resolved once from the configured item IDs, keyed by the item's registry raw ID
+ */
+public final class ItemTargetSet {
+    public static final ItemTargetSet NONE = new ItemTargetSet(new BitSet());
+
+    private final BitSet itemRawIds;
+
+    private ItemTargetSet(BitSet itemRawIds) {
+        this.itemRawIds = itemRawIds;
+    }
+
+    /**
+     * Resolve item IDs against the registry, skipping invalid or unknown entries
+     */
+    public static ItemTargetSet compile(List<String> itemIds) {
+        if (itemIds == null || itemIds.isEmpty()) {
+            return NONE;
+        }
+
+        BitSet rawIds = new BitSet();
+        for (String itemId : itemIds) {
+            try {
+                if (itemId == null || itemId.trim().isEmpty()) {
+                    continue;
+                }
+
+                Identifier identifier = Identifier.tryParse(itemId.toLowerCase().trim());
+                if (identifier == null || !Registries.ITEM.containsId(identifier)) {
+                    CWRXPMactro.LOGGER.warn("Unknown AutoSell item: {}", itemId);
+                    continue;
+                }
+
+                rawIds.set(Registries.ITEM.getRawId(Registries.ITEM.get(identifier)));
+            } catch (Exception e) {
+                CWRXPMactro.LOGGER.error("Error compiling sell item: " + itemId, e);
+            }
+        }
+
+        return rawIds.isEmpty() ? NONE : new ItemTargetSet(rawIds);
+    }
+
+    public boolean isEmpty() {
+        return itemRawIds.isEmpty();
+    }
+
+    public boolean matches(Item item) {
+        int rawId = Registries.ITEM.getRawId(item);
+        return rawId >= 0 && itemRawIds.get(rawId);
+    }
+
+    public boolean matches(ItemStack stack) {
+        return stack != null && !stack.isEmpty() && matches(stack.getItem());
+    }
+}
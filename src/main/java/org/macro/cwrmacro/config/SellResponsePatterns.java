@@ -0,0 +1,136 @@
+package org.macro.cwrmacro.config;
+
+import org.macro.cwrmacro.CWRXPMactro;
+import org.macro.cwrmacro.chat.ChatMatch;
+import org.macro.cwrmacro.chat.ChatRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Server responses to {@code /sell hand}, turned once per snapshot into an ordered list of
+ * {@link ChatRule chat rules} from the configured regular expressions.
+ * <p>
+ * Messages are matched as plain text, without formatting codes. Failure patterns come first, since
+ * refusals such as "cannot be sold" would also satisfy a loose sale pattern, then cooldown and sale
+ * patterns. A sale pattern may capture the amount earned in a group named {@code amount}.
+ */
+public final class SellResponsePatterns {
+    public static final SellResponsePatterns NONE = new SellResponsePatterns(List.of());
+
+    // Amounts up to 2^53 / 10 and with up to 15 decimals are converted exactly by parseAmount
+    private static final long MAX_EXACT_DIGITS = (1L << 53) / 10;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    public enum Outcome {
+        SOLD,
+        FAILED,
+        COOLDOWN
+    }
+
+    private final List<ChatRule<Outcome>> rules;
+
+    private SellResponsePatterns(List<ChatRule<Outcome>> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Build the rules, skipping entries that are not valid regular expressions
+     */
+    public static SellResponsePatterns compile(List<String> sold, List<String> failed, List<String> cooldown) {
+        List<ChatRule<Outcome>> rules = new ArrayList<>();
+        addRules(rules, failed, Outcome.FAILED);
+        addRules(rules, cooldown, Outcome.COOLDOWN);
+        addRules(rules, sold, Outcome.SOLD);
+        return rules.isEmpty() ? NONE : new SellResponsePatterns(List.copyOf(rules));
+    }
+
+    public List<ChatRule<Outcome>> rules() {
+        return rules;
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * Amount captured by a sale rule, or NaN when the message carried none
+     */
+    public static double earnings(ChatMatch match) {
+        int start = match.start("amount");
+        if (start < 0) {
+            return Double.NaN;
+        }
+        return parseAmount(match.message(), start, match.end("amount"));
+    }
+
+    /**
+     * Parse an amount such as {@code 1,234.50} in place. Plain digits with thousands separators and an
+     * optional fraction are read without allocating; anything else goes through {@link Double#parseDouble}.
+     */
+    private static double parseAmount(String text, int start, int end) {
+        long digits = 0;
+        int scale = -1;
+        boolean anyDigit = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits >= MAX_EXACT_DIGITS || scale >= POWERS_OF_TEN.length - 1) {
+                    return parseAmountSlow(text, start, end);
+                }
+                digits = digits * 10 + (c - '0');
+                anyDigit = true;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else if (c != ',' || scale >= 0) {
+                return parseAmountSlow(text, start, end);
+            }
+        }
+
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+        // Both operands are exact, so the one rounding in the division matches parseDouble
+        return scale <= 0 ? digits : digits / POWERS_OF_TEN[scale];
+    }
+
+    private static double parseAmountSlow(String text, int start, int end) {
+        try {
+            return Double.parseDouble(text.substring(start, end).replace(",", ""));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static void addRules(List<ChatRule<Outcome>> rules, List<String> patterns, Outcome outcome) {
+        if (patterns == null) {
+            return;
+        }
+        for (String pattern : patterns) {
+            if (isValidPattern(pattern)) {
+                rules.add(ChatRule.regex(pattern, outcome));
+            } else {
+                CWRXPMactro.LOGGER.warn("Invalid sell response pattern: {}", pattern);
+            }
+        }
+    }
+
+    public static boolean isValidPattern(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return false;
+        }
+        try {
+            Pattern.compile(pattern);
+            return true;
+        } catch (PatternSyntaxException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.macro.cwrmacro.env;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Hand;
+import net.minecraft.util.hit.EntityHitResult;
+import net.minecraft.util.hit.HitResult;
+import org.macro.cwrmacro.inventory.InventoryTracker;
+import org.macro.cwrmacro.mixin.LivingEntityAccessor;
+import org.macro.cwrmacro.network.ServerTiming;
+
+/**
+ * {@link GameEnvironment} backed by the running {@link MinecraftClient}
+ */
+public final class ClientGameEnvironment implements GameEnvironment {
+    public static final ClientGameEnvironment INSTANCE = new ClientGameEnvironment();
+
+    private ClientGameEnvironment() {
+    }
+
+    @Override
+    public boolean isInGame() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        return client != null && client.player != null && client.world != null;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public int getSelectedSlot() {
+        return player().getInventory().selectedSlot;
+    }
+
+    @Override
+    public void setSelectedSlot(int slot) {
+        player().getInventory().selectedSlot = slot;
+    }
+
+    @Override
+    public Item getHotbarItem(int slot) {
+        ItemStack stack = player().getInventory().getStack(slot);
+        return stack.isEmpty() ? null : stack.getItem();
+    }
+
+    @Override
+    public int getFilledSlotCount() {
+        return InventoryTracker.getFilledSlotCount();
+    }
+
+    @Override
+    public long getInventoryVersion() {
+        return InventoryTracker.getVersion();
+    }
+
+    @Override
+    public float getAttackCooldownTicks() {
+        return player().getAttackCooldownProgressPerTick();
+    }
+
+    @Override
+    public int getTicksSinceAttack() {
+        return ((LivingEntityAccessor) player()).farmhand$getLastAttackedTicks();
+    }
+
+    @Override
+    public int getCrosshairTarget() {
+        HitResult hitResult = MinecraftClient.getInstance().crosshairTarget;
+        if (hitResult == null || hitResult.getType() != HitResult.Type.ENTITY) {
+            return -1;
+        }
+
+        Entity entity = ((EntityHitResult) hitResult).getEntity();
+        return entity instanceof LivingEntity ? entity.getId() : -1;
+    }
+
+    @Override
+    public int getTargetTypeRawId(int entityId) {
+        Entity entity = entity(entityId);
+        return entity == null ? -1 : Registries.ENTITY_TYPE.getRawId(entity.getType());
+    }
+
+    @Override
+    public boolean isTargetAlive(int entityId) {
+        Entity entity = entity(entityId);
+        return entity != null && entity.isAlive() && !entity.isRemoved();
+    }
+
+    @Override
+    public float getTargetHealth(int entityId) {
+        return entity(entityId) instanceof LivingEntity living && !living.isRemoved() ? living.getHealth() : -1;
+    }
+
+    @Override
+    public int getTargetHurtTime(int entityId) {
+        return entity(entityId) instanceof LivingEntity living ? living.hurtTime : 0;
+    }
+
+    @Override
+    public boolean attack(int entityId) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        Entity entity = entity(entityId);
+        if (entity == null || client.player == null || client.interactionManager == null) {
+            return false;
+        }
+
+        client.interactionManager.attackEntity(client.player, entity);
+        client.player.swingHand(Hand.MAIN_HAND);
+        return true;
+    }
+
+    @Override
+    public boolean sendCommand(String command) {
+        ClientPlayerEntity player = MinecraftClient.getInstance().player;
+        if (player == null || player.networkHandler == null) {
+            return false;
+        }
+
+        player.networkHandler.sendChatCommand(command);
+        ServerTiming.onCommandSent(System.currentTimeMillis());
+        return true;
+    }
+
+    @Override
+    public float getServerTps() {
+        return ServerTiming.getTps();
+    }
+
+    @Override
+    public int getRoundTripMs() {
+        return ServerTiming.getRoundTripMs();
+    }
+
+    private static ClientPlayerEntity player() {
+        return MinecraftClient.getInstance().player;
+    }
+
+    private static Entity entity(int entityId) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        return entityId < 0 || client.world == null ? null : client.world.getEntityById(entityId);
+    }
+}
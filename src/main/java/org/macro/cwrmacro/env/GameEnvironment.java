@@ -0,0 +1,105 @@
+package org.macro.cwrmacro.env;
+
+import net.minecraft.item.Item;
+
+/**
+ * The slice of the game the modules read and act on.
+ * <p>
+ * {@link ClientGameEnvironment} backs it with the running client; a simulator can implement it with plain
+ * fields and a synthetic clock to drive modules without launching the game. Entities are referred to by
+ * their network ID so implementations never have to construct one. All methods are called on the thread
+ * that ticks the modules.
+ */
+public interface GameEnvironment {
+    /**
+     * Whether a player is in a world. The other player and world methods are only called while this is true.
+     */
+    boolean isInGame();
+
+    /**
+     * Monotonic-enough wall clock in milliseconds, used for module cooldowns
+     */
+    long currentTimeMillis();
+
+    // Inventory
+
+    int getSelectedSlot();
+
+    void setSelectedSlot(int slot);
+
+    /**
+     * Item in a hotbar slot, or null when the slot is empty
+     */
+    Item getHotbarItem(int slot);
+
+    /**
+     * Number of non-empty main inventory slots (0-36)
+     */
+    int getFilledSlotCount();
+
+    /**
+     * Counter that changes whenever main inventory occupancy changes
+     */
+    long getInventoryVersion();
+
+    // Combat
+
+    /**
+     * Ticks a full attack cooldown takes at the player's current attack speed
+     */
+    float getAttackCooldownTicks();
+
+    /**
+     * Ticks since the player last attacked or switched held item, as counted by the cooldown
+     */
+    int getTicksSinceAttack();
+
+    /**
+     * Network ID of the living entity under the crosshair, or -1 if there is none
+     */
+    int getCrosshairTarget();
+
+    /**
+     * Registry raw ID of the entity's type, or -1 if the entity is not loaded
+     */
+    int getTargetTypeRawId(int entityId);
+
+    boolean isTargetAlive(int entityId);
+
+    /**
+     * Health of a living entity, or -1 if it is not loaded. A dying entity stays loaded at 0 health.
+     */
+    float getTargetHealth(int entityId);
+
+    /**
+     * Ticks left of the entity's hurt animation, which tracks the server's post-hit invulnerability window;
+     * 0 if it is not loaded
+     */
+    int getTargetHurtTime(int entityId);
+
+    /**
+     * Attack the entity and swing the main hand
+     *
+     * @return false if the entity or the player could not be found
+     */
+    boolean attack(int entityId);
+
+    // Server
+
+    /**
+     * Send a chat command without the leading slash
+     *
+     * @return false if there is no connection to send it on
+     */
+    boolean sendCommand(String command);
+
+    /**
+     * Estimated server ticks per second, at most 20
+     */
+    float getServerTps();
+
+    /**
+     * Estimated round trip to the server in milliseconds, 0 if unknown
+     */
+    int getRoundTripMs();
+}
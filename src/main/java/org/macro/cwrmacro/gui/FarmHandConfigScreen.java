@@ -113,13 +113,13 @@ public class FarmHandConfigScreen extends Screen {
         this.addDrawableChild(autoSellToggleButton);
         y += buttonHeight + spacing;
         
-        // Item ID Field
+        // Item IDs Field (comma separated)
         y += 15; // Space for label
         this.autoSellItemField = createTextField(
-            tempConfig.autoSellItemId, "Item ID", startX, y, fieldWidth, fieldHeight
+            FarmHandConfig.formatIdList(tempConfig.autoSellItemIds), "Item IDs", startX, y, fieldWidth, fieldHeight, 512
         );
         this.autoSellItemField.setChangedListener(text -> {
-            tempConfig.autoSellItemId = text;
+            tempConfig.autoSellItemIds = FarmHandConfig.parseIdList(text);
             validateField("autoSellItem", text, "Item ID");
             markAsChanged();
         });
@@ -178,13 +178,13 @@ public class FarmHandConfigScreen extends Screen {
         this.addDrawableChild(triggerBotToggleButton);
         y += buttonHeight + spacing;
         
-        // Entity ID Field
+        // Entity IDs Field (comma separated)
         y += 15; // Space for label
         this.triggerBotEntityField = createTextField(
-            tempConfig.triggerBotEntityId, "Entity ID", startX, y, fieldWidth, fieldHeight
+            FarmHandConfig.formatIdList(tempConfig.triggerBotEntityIds), "Entity IDs", startX, y, fieldWidth, fieldHeight, 512
         );
         this.triggerBotEntityField.setChangedListener(text -> {
-            tempConfig.triggerBotEntityId = text;
+            tempConfig.triggerBotEntityIds = FarmHandConfig.parseIdList(text);
             validateField("triggerBotEntity", text, "Entity ID");
             markAsChanged();
         });
@@ -288,10 +288,14 @@ public class FarmHandConfigScreen extends Screen {
     }
 
     private TextFieldWidget createTextField(String text, String placeholder, int x, int y, int width, int height) {
+        return createTextField(text, placeholder, x, y, width, height, 100);
+    }
+
+    private TextFieldWidget createTextField(String text, String placeholder, int x, int y, int width, int height, int maxLength) {
         TextFieldWidget field = new TextFieldWidget(
             this.textRenderer, x, y, width, height, Text.literal(placeholder)
         );
-        field.setMaxLength(100);
+        field.setMaxLength(maxLength);
         field.setText(text);
         return field;
     }
@@ -330,9 +334,10 @@ public class FarmHandConfigScreen extends Screen {
         validationErrors.removeIf(e -> e.fieldId.equals(fieldId));
 
         if (fieldId.equals("autoSellItem") || fieldId.equals("triggerBotEntity")) {
-            if (value.trim().isEmpty()) {
+            List<String> ids = FarmHandConfig.parseIdList(value);
+            if (ids.isEmpty()) {
                 validationErrors.add(new ValidationError(fieldId, fieldName + " cannot be empty"));
-            } else if (!ID_PATTERN.matcher(value.toLowerCase()).matches()) {
+            } else if (!ids.stream().allMatch(id -> ID_PATTERN.matcher(id).matches())) {
                 validationErrors.add(new ValidationError(fieldId, "Invalid " + fieldName + " format"));
             }
         } else if (fieldId.equals("autoSellDelay")) {
@@ -363,8 +368,8 @@ public class FarmHandConfigScreen extends Screen {
     }
 
     private void validateAll() {
-        validateField("autoSellItem", tempConfig.autoSellItemId, "Item ID");
-        validateField("triggerBotEntity", tempConfig.triggerBotEntityId, "Entity ID");
+        validateField("autoSellItem", FarmHandConfig.formatIdList(tempConfig.autoSellItemIds), "Item ID");
+        validateField("triggerBotEntity", FarmHandConfig.formatIdList(tempConfig.triggerBotEntityIds), "Entity ID");
         validateField("autoSellDelay", String.valueOf(tempConfig.autoSellDelay), "Delay");
         validateField("inventoryThreshold", String.valueOf(tempConfig.inventoryThreshold), "Threshold");
     }
@@ -394,8 +399,8 @@ public class FarmHandConfigScreen extends Screen {
     }
 
     private void refreshFields() {
-        autoSellItemField.setText(tempConfig.autoSellItemId);
-        triggerBotEntityField.setText(tempConfig.triggerBotEntityId);
+        autoSellItemField.setText(FarmHandConfig.formatIdList(tempConfig.autoSellItemIds));
+        triggerBotEntityField.setText(FarmHandConfig.formatIdList(tempConfig.triggerBotEntityIds));
         autoSellDelayField.setText(String.valueOf(tempConfig.autoSellDelay));
         inventoryThresholdField.setText(String.valueOf(tempConfig.inventoryThreshold));
         
@@ -420,8 +425,8 @@ public class FarmHandConfigScreen extends Screen {
         config.enabled = tempConfig.enabled;
         config.autoSellEnabled = tempConfig.autoSellEnabled;
         config.triggerBotEnabled = tempConfig.triggerBotEnabled;
-        config.autoSellItemId = tempConfig.autoSellItemId;
-        config.triggerBotEntityId = tempConfig.triggerBotEntityId;
+        config.autoSellItemIds = new ArrayList<>(tempConfig.autoSellItemIds);
+        config.triggerBotEntityIds = new ArrayList<>(tempConfig.triggerBotEntityIds);
         config.autoSellDelay = tempConfig.autoSellDelay;
         config.inventoryThreshold = tempConfig.inventoryThreshold;
         config.triggerBotSpeed = tempConfig.triggerBotSpeed;
@@ -456,14 +461,14 @@ public class FarmHandConfigScreen extends Screen {
         
         // Field labels
         y = startY + 35 + sectionSpacing + buttonHeight + spacing + sectionSpacing + buttonHeight + spacing;
-        drawFieldLabel(context, "Item ID (hold when selling):", y, hasError("autoSellItem"));
+        drawFieldLabel(context, "Item IDs to sell (comma separated):", y, hasError("autoSellItem"));
         
         y += 15 + fieldHeight + spacing;
         drawFieldLabel(context, "Delay (ms) / Threshold (slots):", y, 
             hasError("autoSellDelay") || hasError("inventoryThreshold"));
         
         y += 15 + fieldHeight + spacing + sectionSpacing + buttonHeight + spacing;
-        drawFieldLabel(context, "Entity ID:", y, hasError("triggerBotEntity"));
+        drawFieldLabel(context, "Entity IDs (comma separated):", y, hasError("triggerBotEntity"));
         
         y += 15 + fieldHeight + spacing;
         drawFieldLabel(context, "Attack Speed (0=Instant):", y, false);
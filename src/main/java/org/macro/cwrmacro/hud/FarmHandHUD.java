@@ -8,12 +8,14 @@ import net.minecraft.client.render.RenderTickCounter;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import org.macro.cwrmacro.CWRXPMactro;
+import org.macro.cwrmacro.config.ConfigSnapshot;
 import org.macro.cwrmacro.config.FarmHandConfig;
 import org.macro.cwrmacro.module.AutoSellModule;
 import org.macro.cwrmacro.module.TriggerBotModule;
 
 public class FarmHandHUD {
-    private static final int HUD_COLOR_BACKGROUND = 0x88000000;
+    // Lines and layout are cached and only rebuilt when their inputs change
+    private static final HudViewModel VIEW = new HudViewModel();
     private static boolean hudEnabled = true;
     private static boolean renderError = false;
 
@@ -42,7 +44,7 @@ public class FarmHandHUD {
                 return;
             }
 
-            FarmHandConfig config = FarmHandConfig.getInstance();
+            ConfigSnapshot config = FarmHandConfig.snapshot();
             
             // Don't show HUD if master is disabled
             if (!config.enabled) {
@@ -58,80 +60,64 @@ public class FarmHandHUD {
                 return;
             }
 
-            // HUD position (top-left corner with safe margins)
-            int hudX = Math.max(5, screenWidth / 200);
-            int hudY = Math.max(5, screenHeight / 200);
-            int lineHeight = Math.max(10, textRenderer.fontHeight + 2);
-            int padding = 2;
-
-            // Calculate HUD dimensions
-            int maxWidth = Math.min(150, screenWidth / 6);
-            int activeModules = 0;
-            if (config.autoSellEnabled) activeModules++;
-            if (config.triggerBotEnabled) activeModules++;
-            
-            int hudHeight = (2 + activeModules) * lineHeight + padding * 2;
-            
-            // Ensure HUD fits on screen
-            if (hudX + maxWidth > screenWidth) {
-                hudX = screenWidth - maxWidth - 5;
-            }
-            if (hudY + hudHeight > screenHeight) {
-                hudY = screenHeight - hudHeight - 5;
-            }
-
-            // Background
-            context.fill(hudX - 1, hudY - 1, hudX + maxWidth + 1, hudY + hudHeight + 1, HUD_COLOR_BACKGROUND);
-
-            // Title
-            context.drawTextWithShadow(textRenderer, 
-                Text.literal("§6" + CWRXPMactro.MOD_NAME).formatted(Formatting.GOLD), 
-                hudX + padding, hudY + padding, 0xFFFFFF);
-            
-            int currentY = hudY + padding + lineHeight;
-
-            // Master Status
-            String masterStatus = config.enabled ? "§aON" : "§cOFF";
-            context.drawTextWithShadow(textRenderer, 
-                Text.literal("Master: " + masterStatus), 
-                hudX + padding, currentY, 0xFFFFFF);
-            currentY += lineHeight;
-
-            // AutoSell Status
+            boolean selling = false;
             if (config.autoSellEnabled) {
                 try {
-                    boolean isProcessing = AutoSellModule.isProcessing();
-                    String autoSellStatus = isProcessing ? "§eSELLING" : "§aREADY";
-                    context.drawTextWithShadow(textRenderer, 
-                        Text.literal("AutoSell: " + autoSellStatus), 
-                        hudX + padding, currentY, 0xFFFFFF);
-                    currentY += lineHeight;
+                    selling = AutoSellModule.isProcessing();
                 } catch (Exception e) {
                     CWRXPMactro.LOGGER.debug("Error getting AutoSell status", e);
                 }
             }
 
-            // TriggerBot Status
+            boolean attacking = false;
             if (config.triggerBotEnabled) {
                 try {
-                    boolean isAttacking = TriggerBotModule.isAttacking();
-                    String triggerBotStatus = isAttacking ? "§eATTACK" : "§aREADY";
-                    String speedText = config.triggerBotSpeed == 0 ? "INSTANT" : config.triggerBotSpeed + "ms";
-                    context.drawTextWithShadow(textRenderer, 
-                        Text.literal("TriggerBot: " + triggerBotStatus), 
-                        hudX + padding, currentY, 0xFFFFFF);
-                    currentY += lineHeight;
+                    attacking = TriggerBotModule.isAttacking();
                 } catch (Exception e) {
                     CWRXPMactro.LOGGER.debug("Error getting TriggerBot status", e);
                 }
             }
 
+            VIEW.update(config, selling, attacking, screenWidth, screenHeight, textRenderer.fontHeight,
+                    System.currentTimeMillis());
+            VIEW.draw(context, textRenderer);
+
         } catch (Exception e) {
             CWRXPMactro.LOGGER.error("Error rendering HUD, disabling", e);
             renderError = true;
         }
     }
 
+    /**
+     * Build the HUD lines: title, master status, then one line per enabled module
+     */
+    public static Text[] buildLines(ConfigSnapshot config, boolean selling, boolean attacking) {
+        int count = 2 + (config.autoSellEnabled ? 1 : 0) + (config.triggerBotEnabled ? 1 : 0);
+        Text[] lines = new Text[count];
+        int index = 0;
+
+        // Title
+        lines[index++] = Text.literal("§6" + CWRXPMactro.MOD_NAME).formatted(Formatting.GOLD);
+
+        // Master Status
+        String masterStatus = config.enabled ? "§aON" : "§cOFF";
+        lines[index++] = Text.literal("Master: " + masterStatus);
+
+        // AutoSell Status
+        if (config.autoSellEnabled) {
+            String autoSellStatus = selling ? "§eSELLING" : "§aREADY";
+            lines[index++] = Text.literal("AutoSell: " + autoSellStatus);
+        }
+
+        // TriggerBot Status
+        if (config.triggerBotEnabled) {
+            String triggerBotStatus = attacking ? "§eATTACK" : "§aREADY";
+            lines[index++] = Text.literal("TriggerBot: " + triggerBotStatus);
+        }
+
+        return lines;
+    }
+
     public static void setEnabled(boolean enabled) {
         hudEnabled = enabled;
     }
@@ -142,5 +128,6 @@ public class FarmHandHUD {
 
     public static void resetError() {
         renderError = false;
+        VIEW.invalidate();
     }
 }
\ No newline at end of file
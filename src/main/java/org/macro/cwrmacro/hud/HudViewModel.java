@@ -0,0 +1,211 @@
+package org.macro.cwrmacro.hud;
+
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Text;
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.profiler.RateSeries;
+import org.macro.cwrmacro.profiler.Throughput;
+
+/**
+ * Cached HUD lines and layout, so a rendered frame costs only its draw calls.
+ * <p>
+ * The lines depend on the config revision and the module status flags, the layout on the window size and
+ * font height. {@link #update} compares those against what the cache was built from and rebuilds only
+ * when one changed, which is a few times per minute rather than every frame. Throughput rows for the
+ * enabled modules are refreshed once per second: a rolling average label and a sparkline of the window,
+ * its columns summing equal slices of the per-second buckets. Render thread only.
+ */
+public final class HudViewModel {
+    private static final int COLOR_BACKGROUND = 0x88000000;
+    private static final int COLOR_TEXT = 0xFFFFFF;
+    private static final int MARGIN = 5;
+    private static final int PADDING = 2;
+    private static final int MAX_WIDTH = 150;
+
+    private static final int COLOR_SPARKLINE = 0xFF55FF55;
+    private static final int SPARK_COLUMNS = Throughput.SLICES;
+
+    private static final int STATUS_SELLING = 1;
+    private static final int STATUS_ATTACKING = 2;
+
+    private static final RateRow[] TRIGGER_BOT_RATES = {
+            new RateRow(Throughput.ATTACKS, 1, "Attacks: %.1f/s"),
+            new RateRow(Throughput.KILLS, 60, "Kills: %.1f/min")
+    };
+    private static final RateRow[] AUTO_SELL_RATES = {
+            new RateRow(Throughput.SELLS, 3600, "Sells: %.0f/h"),
+            new RateRow(Throughput.EARNINGS, 3600, "Earned: $%.0f/h")
+    };
+
+    /**
+     * A rolling average shown as {@code format} after multiplying the per-second rate by {@code scale}
+     */
+    private record RateRow(RateSeries series, double scale, String format) {
+    }
+
+    // Inputs the cache was built from
+    private boolean valid = false;
+    private int revision;
+    private int status;
+    private int screenWidth;
+    private int screenHeight;
+    private int fontHeight;
+
+    private OrderedText[] lines = new OrderedText[0];
+    private RateRow[] rateRows = new RateRow[0];
+    private OrderedText[] rateLabels = new OrderedText[0];
+    private final int[][] sparkHeights = new int[TRIGGER_BOT_RATES.length + AUTO_SELL_RATES.length][SPARK_COLUMNS];
+    private final double[] sparkSums = new double[SPARK_COLUMNS];
+    private long rateSecond = Long.MIN_VALUE;
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+    private int lineHeight;
+    private long rebuildCount = 0;
+
+    /**
+     * Bring the cache up to date with the current inputs
+     *
+     * @return true if the lines, rates or layout were rebuilt
+     */
+    public boolean update(ConfigSnapshot config, boolean selling, boolean attacking,
+                          int screenWidth, int screenHeight, int fontHeight, long nowMs) {
+        int status = (selling ? STATUS_SELLING : 0) | (attacking ? STATUS_ATTACKING : 0);
+        boolean configChanged = !valid || config.revision != revision;
+        boolean textChanged = configChanged || status != this.status;
+        boolean layoutChanged = textChanged || screenWidth != this.screenWidth
+                || screenHeight != this.screenHeight || fontHeight != this.fontHeight;
+        long second = Math.floorDiv(nowMs, 1000L);
+        boolean ratesChanged = configChanged || second != rateSecond;
+        if (!layoutChanged && !ratesChanged) {
+            return false;
+        }
+
+        if (textChanged) {
+            Text[] text = FarmHandHUD.buildLines(config, selling, attacking);
+            OrderedText[] ordered = new OrderedText[text.length];
+            for (int i = 0; i < text.length; i++) {
+                ordered[i] = text[i].asOrderedText();
+            }
+            lines = ordered;
+        }
+        if (configChanged) {
+            selectRates(config);
+        }
+        if (ratesChanged) {
+            refreshRates(nowMs);
+            rateSecond = second;
+        }
+        if (layoutChanged) {
+            layout(screenWidth, screenHeight, fontHeight);
+        }
+
+        valid = true;
+        revision = config.revision;
+        this.status = status;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.fontHeight = fontHeight;
+        rebuildCount++;
+        return true;
+    }
+
+    private void selectRates(ConfigSnapshot config) {
+        int count = (config.triggerBotEnabled ? TRIGGER_BOT_RATES.length : 0)
+                + (config.autoSellEnabled ? AUTO_SELL_RATES.length : 0);
+        RateRow[] rows = new RateRow[count];
+        int index = 0;
+        if (config.triggerBotEnabled) {
+            for (RateRow row : TRIGGER_BOT_RATES) {
+                rows[index++] = row;
+            }
+        }
+        if (config.autoSellEnabled) {
+            for (RateRow row : AUTO_SELL_RATES) {
+                rows[index++] = row;
+            }
+        }
+        rateRows = rows;
+        rateLabels = new OrderedText[count];
+    }
+
+    private void refreshRates(long nowMs) {
+        for (int row = 0; row < rateRows.length; row++) {
+            RateSeries series = rateRows[row].series();
+            double perSecond = series.perSecond(nowMs);
+            rateLabels[row] = Text.literal(String.format(rateRows[row].format(), perSecond * rateRows[row].scale()))
+                    .asOrderedText();
+
+            // Oldest slice on the left; the newest is still filling
+            int[] heights = sparkHeights[row];
+            double[] sums = sparkSums;
+            double max = 0;
+            for (int column = 0; column < SPARK_COLUMNS; column++) {
+                double sum = series.slice(SPARK_COLUMNS - 1 - column);
+                sums[column] = sum;
+                max = Math.max(max, sum);
+            }
+            for (int column = 0; column < SPARK_COLUMNS; column++) {
+                // Heights are stored as a fraction of 1000 so they don't depend on the layout
+                heights[column] = max <= 0 || sums[column] <= 0 ? 0 : Math.max(1, (int) (sums[column] / max * 1000));
+            }
+        }
+    }
+
+    /**
+     * Top-left corner with safe margins, moved back on screen if the window is too small
+     */
+    private void layout(int screenWidth, int screenHeight, int fontHeight) {
+        lineHeight = Math.max(10, fontHeight + 2);
+        width = Math.min(MAX_WIDTH, screenWidth / 6);
+        height = (lines.length + rateRows.length) * lineHeight + PADDING * 2;
+
+        x = Math.max(MARGIN, screenWidth / 200);
+        y = Math.max(MARGIN, screenHeight / 200);
+        if (x + width > screenWidth) {
+            x = screenWidth - width - MARGIN;
+        }
+        if (y + height > screenHeight) {
+            y = screenHeight - height - MARGIN;
+        }
+    }
+
+    public void draw(DrawContext context, TextRenderer textRenderer) {
+        context.fill(x - 1, y - 1, x + width + 1, y + height + 1, COLOR_BACKGROUND);
+
+        int lineY = y + PADDING;
+        for (OrderedText line : lines) {
+            context.drawTextWithShadow(textRenderer, line, x + PADDING, lineY, COLOR_TEXT);
+            lineY += lineHeight;
+        }
+
+        int sparkX = x + width - PADDING - SPARK_COLUMNS;
+        int barMax = lineHeight - 3;
+        for (int row = 0; row < rateRows.length; row++) {
+            context.drawTextWithShadow(textRenderer, rateLabels[row], x + PADDING, lineY, COLOR_TEXT);
+            int[] heights = sparkHeights[row];
+            int bottom = lineY + fontHeight;
+            for (int column = 0; column < SPARK_COLUMNS; column++) {
+                if (heights[column] > 0) {
+                    int bar = Math.max(1, heights[column] * barMax / 1000);
+                    context.fill(sparkX + column, bottom - bar, sparkX + column + 1, bottom, COLOR_SPARKLINE);
+                }
+            }
+            lineY += lineHeight;
+        }
+    }
+
+    /**
+     * Force a rebuild on the next update
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount;
+    }
+}
@@ -0,0 +1,140 @@
+package org.macro.cwrmacro.inventory;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.Inventory;
+
+/**
+ * Incrementally tracked occupancy of the local player's 36 main inventory slots (hotbar 0-8, storage 9-35).
+ * <p>
+ * Slot writes are reported by {@code PlayerInventoryMixin}, so reads are O(1). A full rescan runs when the
+ * player instance, and with it the inventory, changes and once per second as a safety net for stacks that
+ * are emptied in place.
+ */
+public final class InventoryTracker {
+    public static final int MAIN_SLOTS = PlayerInventory.MAIN_SIZE;
+
+    private static final int RESYNC_INTERVAL_TICKS = 20;
+
+    // Written on the client thread only
+    private static volatile long occupiedMask = 0L;
+    private static volatile int filledSlots = 0;
+    private static volatile long version = 0L;
+    private static volatile long lastChangeTick = 0L;
+    private static volatile long currentTick = 0L;
+
+    private static Inventory trackedInventory = null;
+    private static boolean rescanNeeded = true;
+
+    private InventoryTracker() {
+    }
+
+    /**
+     * Called by ModuleDispatcher every client tick, before the modules that read occupancy
+     */
+    public static void tick(MinecraftClient client) {
+        PlayerEntity player = client.player;
+        tick(player != null ? player.getInventory() : null);
+    }
+
+    /**
+     * One tick of tracking {@code inventory}, whose first {@link #MAIN_SLOTS} slots are the main inventory
+     *
+     * @param inventory the local player's inventory, or null when there is no player
+     */
+    public static void tick(Inventory inventory) {
+        currentTick++;
+        if (inventory == null) {
+            if (trackedInventory != null) {
+                trackedInventory = null;
+                applyMask(0L);
+            }
+            return;
+        }
+
+        if (inventory != trackedInventory) {
+            trackedInventory = inventory;
+            rescanNeeded = true;
+        }
+
+        if (rescanNeeded || currentTick % RESYNC_INTERVAL_TICKS == 0) {
+            rescan(inventory);
+        }
+    }
+
+    /**
+     * Called after a slot of any player inventory was written
+     */
+    public static void onSlotChanged(Inventory inventory, int slot) {
+        if (slot < 0 || slot >= MAIN_SLOTS || inventory != trackedInventory || trackedInventory == null) {
+            return;
+        }
+
+        long bit = 1L << slot;
+        long mask = inventory.getStack(slot).isEmpty() ? occupiedMask & ~bit : occupiedMask | bit;
+        applyMask(mask);
+    }
+
+    /**
+     * Force a full rescan on the next tick
+     */
+    public static void invalidate() {
+        rescanNeeded = true;
+    }
+
+    private static void rescan(Inventory inventory) {
+        rescanNeeded = false;
+        long mask = 0L;
+        for (int i = 0; i < MAIN_SLOTS; i++) {
+            if (!inventory.getStack(i).isEmpty()) {
+                mask |= 1L << i;
+            }
+        }
+        applyMask(mask);
+    }
+
+    private static void applyMask(long mask) {
+        if (mask == occupiedMask) {
+            return;
+        }
+        occupiedMask = mask;
+        filledSlots = Long.bitCount(mask);
+        lastChangeTick = currentTick;
+        version++;
+    }
+
+    public static int getFilledSlotCount() {
+        return filledSlots;
+    }
+
+    /**
+     * Bit {@code i} is set when main inventory slot {@code i} holds a non-empty stack
+     */
+    public static long getOccupiedMask() {
+        return occupiedMask;
+    }
+
+    public static boolean isSlotFilled(int slot) {
+        return slot >= 0 && slot < MAIN_SLOTS && (occupiedMask & (1L << slot)) != 0;
+    }
+
+    /**
+     * Monotonic counter bumped whenever slot occupancy changes
+     */
+    public static long getVersion() {
+        return version;
+    }
+
+    public static long getCurrentTick() {
+        return currentTick;
+    }
+
+    public static long getLastChangeTick() {
+        return lastChangeTick;
+    }
+
+    public static boolean hasChangedSince(long tick) {
+        return lastChangeTick > tick;
+    }
+}
@@ -1,18 +1,25 @@
 package org.macro.cwrmacro.keybind;
 
-import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.option.KeyBinding;
 import net.minecraft.client.util.InputUtil;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import org.lwjgl.glfw.GLFW;
+import org.macro.cwrmacro.combat.KillTracker;
+import org.macro.cwrmacro.combat.TargetStats;
 import org.macro.cwrmacro.config.FarmHandConfig;
 import org.macro.cwrmacro.gui.FarmHandConfigScreen;
 import org.macro.cwrmacro.module.AutoSellModule;
 import org.macro.cwrmacro.module.TriggerBotModule;
+import org.macro.cwrmacro.network.ServerTiming;
+import org.macro.cwrmacro.profiler.FarmHandProfiler;
+import org.macro.cwrmacro.profiler.TickHistogram;
+import org.macro.cwrmacro.stats.StatsStore;
 
 public class FarmHandKeybind {
+    private static final long HISTORY_MS = 30L * 24 * 60 * 60 * 1000;
     private static KeyBinding toggleKeybind;
     private static KeyBinding configKeybind;
     private static KeyBinding statusKeybind;
@@ -50,96 +57,138 @@ public class FarmHandKeybind {
                 GLFW.GLFW_KEY_L,
                 "category.farmhand"
         ));
+    }
+
+    /**
+     * Handle pressed keybinds, called by ModuleDispatcher before the modules tick
+     */
+    public static void tick(MinecraftClient client) {
+        if (toggleKeybind == null) {
+            return;
+        }
+
+        // Handle master toggle keybind
+        if (toggleKeybind.wasPressed()) {
+            FarmHandConfig config = FarmHandConfig.getInstance();
+            config.enabled = !config.enabled;
+            config.save();
+            
+            if (client.player != null) {
+                String status = config.enabled ? "enabled" : "disabled";
+                client.player.sendMessage(
+                    Text.literal("§6[FarmHand] §fMod " + status).formatted(Formatting.GOLD), 
+                    false
+                );
+            }
+        }
         
-        ClientTickEvents.END_CLIENT_TICK.register(client -> {
-            // Handle master toggle keybind
-            if (toggleKeybind.wasPressed()) {
+        // Handle config keybind
+        if (configKeybind.wasPressed()) {
+            if (client.currentScreen == null) {
+                client.setScreen(new FarmHandConfigScreen(null));
+            }
+        }
+
+        // Handle status keybind
+        if (statusKeybind.wasPressed()) {
+            if (client.player != null) {
                 FarmHandConfig config = FarmHandConfig.getInstance();
-                config.enabled = !config.enabled;
-                config.save();
                 
-                if (client.player != null) {
-                    String status = config.enabled ? "enabled" : "disabled";
+                // Display comprehensive status
+                client.player.sendMessage(
+                    Text.literal("§6=== FarmHand Status ===").formatted(Formatting.GOLD), 
+                    false
+                );
+                
+                client.player.sendMessage(
+                    Text.literal("§7Master: " + (config.enabled ? "§aENABLED" : "§cDISABLED")), 
+                    false
+                );
+                
+                client.player.sendMessage(
+                    Text.literal("§7AutoSell: " + (config.autoSellEnabled ? "§aENABLED" : "§cDISABLED") + 
+                            " §7Items: §e" + FarmHandConfig.formatIdList(config.autoSellItemIds)), 
+                    false
+                );
+                
+                client.player.sendMessage(
+                    Text.literal("§7TriggerBot: " + (config.triggerBotEnabled ? "§aENABLED" : "§cDISABLED") + 
+                            " §7Entities: §e" + FarmHandConfig.formatIdList(config.triggerBotEntityIds)), 
+                    false
+                );
+                
+                client.player.sendMessage(
+                    Text.literal("§7Delays: §eAutoSell=" + config.autoSellDelay + "ms §7TriggerBot=" + config.triggerBotDelay + "ms"), 
+                    false
+                );
+                
+                client.player.sendMessage(
+                    Text.literal("§7Threshold: §e" + config.inventoryThreshold + "/36 slots"), 
+                    false
+                );
+                
+                // Show module statistics
+                client.player.sendMessage(
+                    Text.literal("§7AutoSell Sales: §e" + AutoSellModule.getSellCount() + 
+                            " §7Earned: §e" + String.format("%.2f", AutoSellModule.getTotalEarnings()) +
+                            " §7TriggerBot Attacks: §e" + TriggerBotModule.getAttackCount()), 
+                    false
+                );
+
+                client.player.sendMessage(
+                    Text.literal("§7" + ServerTiming.getSummary()), 
+                    false
+                );
+
+                // History of this server, read in the background
+                long now = System.currentTimeMillis();
+                StatsStore.queryCurrentServer(now - HISTORY_MS, now, totals -> {
+                    if (totals != null && client.player != null) {
+                        client.player.sendMessage(
+                            Text.literal("§7Last 30 days here: §e" + totals.getSummary()), 
+                            false
+                        );
+                    }
+                });
+
+                // Show kill statistics per target type
+                for (TargetStats stats : KillTracker.getStats()) {
                     client.player.sendMessage(
-                        Text.literal("§6[FarmHand] §fMod " + status).formatted(Formatting.GOLD), 
+                        Text.literal("§7" + stats.getSummary()), 
                         false
                     );
                 }
-            }
-            
-            // Handle config keybind
-            if (configKeybind.wasPressed()) {
-                if (client.currentScreen == null) {
-                    client.setScreen(new FarmHandConfigScreen(null));
-                }
-            }
 
-            // Handle status keybind
-            if (statusKeybind.wasPressed()) {
-                if (client.player != null) {
-                    FarmHandConfig config = FarmHandConfig.getInstance();
-                    
-                    // Display comprehensive status
-                    client.player.sendMessage(
-                        Text.literal("§6=== FarmHand Status ===").formatted(Formatting.GOLD), 
-                        false
-                    );
-                    
-                    client.player.sendMessage(
-                        Text.literal("§7Master: " + (config.enabled ? "§aENABLED" : "§cDISABLED")), 
-                        false
-                    );
-                    
-                    client.player.sendMessage(
-                        Text.literal("§7AutoSell: " + (config.autoSellEnabled ? "§aENABLED" : "§cDISABLED") + 
-                                " §7Item: §e" + config.autoSellItemId), 
-                        false
-                    );
-                    
-                    client.player.sendMessage(
-                        Text.literal("§7TriggerBot: " + (config.triggerBotEnabled ? "§aENABLED" : "§cDISABLED") + 
-                                " §7Entity: §e" + config.triggerBotEntityId), 
-                        false
-                    );
-                    
-                    client.player.sendMessage(
-                        Text.literal("§7Delays: §eAutoSell=" + config.autoSellDelay + "ms §7TriggerBot=" + config.triggerBotDelay + "ms"), 
-                        false
-                    );
-                    
-                    client.player.sendMessage(
-                        Text.literal("§7Threshold: §e" + config.inventoryThreshold + "/36 slots"), 
-                        false
-                    );
-                    
-                    // Show module statistics
-                    client.player.sendMessage(
-                        Text.literal("§7AutoSell Sales: §e" + AutoSellModule.getSellCount() + 
-                                " §7TriggerBot Attacks: §e" + TriggerBotModule.getAttackCount()), 
-                        false
-                    );
-                    
-                    client.player.sendMessage(
-                        Text.literal("§6===================").formatted(Formatting.GOLD), 
-                        false
-                    );
+                // Show tick cost per module
+                for (TickHistogram histogram : FarmHandProfiler.getHistograms()) {
+                    if (histogram.getCount() > 0) {
+                        client.player.sendMessage(
+                            Text.literal("§7" + histogram.getSummary()), 
+                            false
+                        );
+                    }
                 }
+                
+                client.player.sendMessage(
+                    Text.literal("§6===================").formatted(Formatting.GOLD), 
+                    false
+                );
             }
+        }
 
-            // Handle auto-sell toggle keybind
-            if (autoSellToggleKeybind.wasPressed()) {
-                FarmHandConfig config = FarmHandConfig.getInstance();
-                config.autoSellEnabled = !config.autoSellEnabled;
-                config.save();
-                
-                if (client.player != null) {
-                    String status = config.autoSellEnabled ? "enabled" : "disabled";
-                    client.player.sendMessage(
-                        Text.literal("§6[FarmHand] §fAutoSell " + status).formatted(Formatting.GOLD), 
-                        false
-                    );
-                }
+        // Handle auto-sell toggle keybind
+        if (autoSellToggleKeybind.wasPressed()) {
+            FarmHandConfig config = FarmHandConfig.getInstance();
+            config.autoSellEnabled = !config.autoSellEnabled;
+            config.save();
+            
+            if (client.player != null) {
+                String status = config.autoSellEnabled ? "enabled" : "disabled";
+                client.player.sendMessage(
+                    Text.literal("§6[FarmHand] §fAutoSell " + status).formatted(Formatting.GOLD), 
+                    false
+                );
             }
-        });
+        }
     }
-}
\ No newline at end of file
+}
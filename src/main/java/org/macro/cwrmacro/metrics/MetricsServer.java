@@ -0,0 +1,159 @@
+package org.macro.cwrmacro.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import org.macro.cwrmacro.CWRXPMactro;
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.config.ConfigWatcher;
+import org.macro.cwrmacro.config.FarmHandConfig;
+import org.macro.cwrmacro.module.AutoSellModule;
+import org.macro.cwrmacro.module.TriggerBotModule;
+import org.macro.cwrmacro.network.ServerTiming;
+import org.macro.cwrmacro.profiler.FarmHandProfiler;
+import org.macro.cwrmacro.profiler.TickHistogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in Prometheus endpoint at {@code http://127.0.0.1:<metricsPort>/metrics}.
+ * <p>
+ * The server binds to the loopback address only and answers on its own daemon thread. Scrapes never touch
+ * the client thread: every exported value is an atomic counter, a volatile estimate, a published config
+ * snapshot or a {@link TickHistogram}. Client-thread-only state such as kill tracking and earnings is
+ * deliberately not exported. The module dispatcher's tick starts, moves or stops the server when the
+ * config changes.
+ */
+public final class MetricsServer {
+    private static final String PATH = "/metrics";
+
+    // Client thread only
+    private static HttpServer server = null;
+    private static ExecutorService executor = null;
+    private static int boundPort = -1;
+    private static int appliedRevision = -1;
+
+    private MetricsServer() {
+    }
+
+    public static void register() {
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> stop());
+        CWRXPMactro.LOGGER.info("MetricsServer registered successfully");
+    }
+
+    /**
+     * Bring the server in line with the config; a port that failed to bind is not retried until the
+     * config changes again. Client thread only.
+     */
+    public static void apply(ConfigSnapshot config) {
+        if (config.revision == appliedRevision) {
+            return;
+        }
+        appliedRevision = config.revision;
+
+        int port = config.metricsEnabled ? config.metricsPort : -1;
+        if (port == boundPort) {
+            return;
+        }
+        stop();
+        if (port > 0) {
+            start(port);
+        }
+    }
+
+    private static void start(int port) {
+        try {
+            HttpServer created = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            created.createContext(PATH, MetricsServer::handle);
+            ExecutorService createdExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "FarmHand Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            created.setExecutor(createdExecutor);
+            created.start();
+
+            server = created;
+            executor = createdExecutor;
+            boundPort = port;
+            CWRXPMactro.LOGGER.info("Serving metrics on http://127.0.0.1:{}{}", port, PATH);
+        } catch (IOException e) {
+            CWRXPMactro.LOGGER.error("Failed to start metrics endpoint on port {}", port, e);
+        }
+    }
+
+    public static void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        boundPort = -1;
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", PrometheusText.CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream stream = exchange.getResponseBody()) {
+                stream.write(body);
+            }
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.debug("Error serving metrics", e);
+        }
+    }
+
+    static String render() {
+        ConfigSnapshot config = FarmHandConfig.snapshot();
+        PrometheusText text = new PrometheusText()
+                .gauge("farmhand_enabled", "Whether the master switch is on", config.enabled ? 1 : 0)
+                .gauge("farmhand_autosell_enabled", "Whether AutoSell is enabled", config.autoSellEnabled ? 1 : 0)
+                .gauge("farmhand_triggerbot_enabled", "Whether TriggerBot is enabled", config.triggerBotEnabled ? 1 : 0)
+                .counter("farmhand_attacks_total", "Attacks sent by TriggerBot", TriggerBotModule.getAttackCount())
+                .counter("farmhand_sells_total",
+                        "Sales confirmed by the server, or sent when no sell response patterns are configured",
+                        AutoSellModule.getSellCount())
+                .counter("farmhand_sell_failures_total", "Items refused by the server or failing every retry",
+                        AutoSellModule.getSellFailureCount())
+                .counter("farmhand_sells_unconfirmed_total", "Sell commands the server never answered",
+                        AutoSellModule.getUnconfirmedSellCount())
+                .counter("farmhand_config_reloads_total", "External config edits applied",
+                        ConfigWatcher.getReloadCount())
+                .gauge("farmhand_server_tps", "Estimated server ticks per second", ServerTiming.getTps())
+                .gauge("farmhand_server_round_trip_seconds", "Estimated round trip to the server",
+                        ServerTiming.getRoundTripMs() / 1000.0);
+
+        // Round trips are not tick cost, so the sell response histogram gets its own family
+        TickHistogram responseTimes = AutoSellModule.getResponseTimes();
+        text.histogramFamily("farmhand_duration_seconds", "Module tick cost");
+        for (TickHistogram histogram : FarmHandProfiler.getHistograms()) {
+            if (histogram != responseTimes) {
+                text.histogram("farmhand_duration_seconds", "name", histogram.getName(), histogram);
+            }
+        }
+        text.histogramFamily("farmhand_sell_response_seconds", "Time from /sell hand to the server's answer")
+                .histogram("farmhand_sell_response_seconds", responseTimes);
+        return text.toString();
+    }
+}
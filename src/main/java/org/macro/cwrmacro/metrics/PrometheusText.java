@@ -0,0 +1,82 @@
+package org.macro.cwrmacro.metrics;
+
+import org.macro.cwrmacro.profiler.TickHistogram;
+
+/**
+ * Writer for the Prometheus text exposition format, version 0.0.4
+ */
+final class PrometheusText {
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final StringBuilder out = new StringBuilder(4096);
+
+    PrometheusText counter(String name, String help, long value) {
+        header(name, help, "counter");
+        out.append(name).append(' ').append(value).append('\n');
+        return this;
+    }
+
+    PrometheusText gauge(String name, String help, double value) {
+        header(name, help, "gauge");
+        out.append(name).append(' ').append(value).append('\n');
+        return this;
+    }
+
+    /**
+     * Start a histogram family; follow with one {@link #histogram} call per labelled series
+     */
+    PrometheusText histogramFamily(String name, String help) {
+        header(name, help, "histogram");
+        return this;
+    }
+
+    /**
+     * Write an unlabelled nanosecond histogram in seconds
+     */
+    PrometheusText histogram(String name, TickHistogram histogram) {
+        writeHistogram(name, "", histogram);
+        return this;
+    }
+
+    /**
+     * Write one labelled series of a nanosecond histogram in seconds
+     */
+    PrometheusText histogram(String name, String label, String labelValue, TickHistogram histogram) {
+        writeHistogram(name, label + "=\"" + escape(labelValue) + "\"", histogram);
+        return this;
+    }
+
+    /**
+     * The count is taken from the buckets so it always agrees with the {@code +Inf} bucket, even while the
+     * client thread is recording
+     */
+    private void writeHistogram(String name, String labels, TickHistogram histogram) {
+        String bucketLabels = labels.isEmpty() ? "" : labels + ",";
+        String seriesLabels = labels.isEmpty() ? "" : "{" + labels + "}";
+        long cumulative = 0;
+        int last = histogram.getBucketCount() - 1;
+        for (int i = 0; i < last; i++) {
+            cumulative += histogram.getBucket(i);
+            out.append(name).append("_bucket{").append(bucketLabels).append("le=\"")
+                    .append((1L << i) / 1e9).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += histogram.getBucket(last);
+        out.append(name).append("_bucket{").append(bucketLabels).append("le=\"+Inf\"} ").append(cumulative).append('\n');
+        out.append(name).append("_sum").append(seriesLabels).append(' ').append(histogram.getTotalNanos() / 1e9).append('\n');
+        out.append(name).append("_count").append(seriesLabels).append(' ').append(cumulative).append('\n');
+    }
+
+    private void header(String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package org.macro.cwrmacro.mixin;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.network.packet.s2c.play.WorldTimeUpdateS2CPacket;
+import org.macro.cwrmacro.network.ServerTiming;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ClientPlayNetworkHandler.class)
+public class ClientPlayNetworkHandlerMixin {
+	// The handler first bounces to the client thread, so the tail only runs there, once the time is applied
+	@Inject(at = @At("TAIL"), method = "onWorldTimeUpdate")
+	private void farmhand$onWorldTimeUpdate(WorldTimeUpdateS2CPacket packet, CallbackInfo info) {
+		ClientWorld world = MinecraftClient.getInstance().world;
+		if (world != null) {
+			ServerTiming.onWorldTimeUpdate(world.getTime(), System.currentTimeMillis());
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package org.macro.cwrmacro.mixin;
+
+import net.minecraft.client.render.GameRenderer;
+import org.macro.cwrmacro.env.ClientGameEnvironment;
+import org.macro.cwrmacro.module.ModuleDispatcher;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(GameRenderer.class)
+public class GameRendererMixin {
+	@Inject(at = @At("TAIL"), method = "updateCrosshairTarget")
+	private void farmhand$onUpdateCrosshairTarget(float tickDelta, CallbackInfo info) {
+		ModuleDispatcher.onCrosshairUpdated(ClientGameEnvironment.INSTANCE.getCrosshairTarget());
+	}
+}
@@ -0,0 +1,11 @@
+package org.macro.cwrmacro.mixin;
+
+import net.minecraft.entity.LivingEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(LivingEntity.class)
+public interface LivingEntityAccessor {
+	@Accessor("lastAttackedTicks")
+	int farmhand$getLastAttackedTicks();
+}
@@ -0,0 +1,28 @@
+package org.macro.cwrmacro.mixin;
+
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import org.macro.cwrmacro.inventory.InventoryTracker;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(PlayerInventory.class)
+public class PlayerInventoryMixin {
+	@Inject(at = @At("TAIL"), method = "setStack")
+	private void farmhand$onSetStack(int slot, ItemStack stack, CallbackInfo info) {
+		InventoryTracker.onSlotChanged((PlayerInventory) (Object) this, slot);
+	}
+
+	@Inject(at = @At("TAIL"), method = "removeStack(II)Lnet/minecraft/item/ItemStack;")
+	private void farmhand$onRemoveStack(int slot, int amount, CallbackInfoReturnable<ItemStack> info) {
+		InventoryTracker.onSlotChanged((PlayerInventory) (Object) this, slot);
+	}
+
+	@Inject(at = @At("TAIL"), method = "removeStack(I)Lnet/minecraft/item/ItemStack;")
+	private void farmhand$onRemoveWholeStack(int slot, CallbackInfoReturnable<ItemStack> info) {
+		InventoryTracker.onSlotChanged((PlayerInventory) (Object) this, slot);
+	}
+}
@@ -1,56 +1,108 @@
 package org.macro.cwrmacro.module;
 
-import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.Item;
-import net.minecraft.item.ItemStack;
-import net.minecraft.registry.Registries;
 import net.minecraft.sound.SoundEvents;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
-import net.minecraft.util.Identifier;
 import org.macro.cwrmacro.CWRXPMactro;
-import org.macro.cwrmacro.config.FarmHandConfig;
-
-import java.util.concurrent.CompletableFuture;
+import org.macro.cwrmacro.chat.ChatMatch;
+import org.macro.cwrmacro.chat.ChatMatcher;
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.config.ItemTargetSet;
+import org.macro.cwrmacro.config.SellResponsePatterns;
+import org.macro.cwrmacro.env.ClientGameEnvironment;
+import org.macro.cwrmacro.env.GameEnvironment;
+import org.macro.cwrmacro.network.ServerTiming;
+import org.macro.cwrmacro.profiler.FarmHandProfiler;
+import org.macro.cwrmacro.profiler.SellStepEvent;
+import org.macro.cwrmacro.profiler.Throughput;
+import org.macro.cwrmacro.profiler.TickHistogram;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
-public class AutoSellModule {
+public class AutoSellModule implements Module {
     private static final AtomicBoolean isProcessing = new AtomicBoolean(false);
     private static final AtomicLong lastProcessTime = new AtomicLong(0);
     private static final AtomicLong sellCount = new AtomicLong(0);
     private static final AtomicLong lastErrorTime = new AtomicLong(0);
+    private static final AtomicLong unconfirmedSellCount = new AtomicLong(0);
+    private static final AtomicLong sellFailureCount = new AtomicLong(0);
+    private static final TickHistogram responseTimes = FarmHandProfiler.histogram("Sell response");
 
     // Configuration-driven constants
-    private static final long DEFAULT_COOLDOWN_MS = 3000;
     private static final long ERROR_COOLDOWN_MS = 5000;
     private static final int MAX_RETRIES = 2;
-    private static final int INVENTORY_FULL_THRESHOLD = 30;
 
-    // Timing ranges for human-like behavior
+    // Timing ranges for human-like behavior, tuned for a healthy server and stretched by the lag factor
     private static final int[] SWITCH_DELAY_RANGE = {100, 300};
-    private static final int[] COMMAND_DELAY_RANGE = {200, 500};
-    private static final int[] RESTORE_DELAY_RANGE = {150, 350};
+    private static final int RETRY_DELAY_TICKS = 10;
+    private static final long RESPONSE_TIMEOUT_MS = 2000;
+
+    private enum SellState {
+        IDLE,
+        SWITCHING,
+        SENDING,
+        AWAITING_RESPONSE,
+        RESTORING,
+        RETRY_WAIT
+    }
 
     private static volatile boolean moduleEnabled = true;
     private static volatile String lastError = null;
     private static volatile long lastSuccessTime = 0;
+    private static volatile double totalEarnings = 0;
     private static volatile int debugTickCount = 0;
     private static volatile boolean registrationError = false;
 
+    // Sell sequence state, only touched on the client thread
+    private static SellState sellState = SellState.IDLE;
+    private static int sellStateTicks = 0;
+    private static int sellAttempt = 0;
+    private static int originalSlot = 0;
+    private static long switchReadyTime = 0;
+    private static long commandSentTime = 0;
+    private static long responseDeadline = 0;
+    private static long tickTime = 0;
+    private static float lagFactor = 1.0F;
+    private static int roundTripMs = 0;
+    private static int retryDelayTicks = RETRY_DELAY_TICKS;
+    private static SellStepEvent sellStepEvent = null;
+
+    // Matcher and config revision the sell response rules were last registered for
+    private static ChatMatcher<TickContext> chatRulesMatcher = null;
+    private static int chatRulesRevision = -1;
+
+    // Hotbar slots queued for selling in this cycle, with the item expected in each
+    private static final int HOTBAR_SIZE = PlayerInventory.getHotbarSize();
+    private static final int[] sellQueueSlots = new int[HOTBAR_SIZE];
+    private static final Item[] sellQueueItems = new Item[HOTBAR_SIZE];
+    private static int sellQueueSize = 0;
+    private static int sellQueueIndex = 0;
+
+    // Inventory version and config revision of the last hotbar search that found nothing
+    private static long missingItemVersion = -1;
+    private static int missingItemRevision = -1;
+    private static int missingItemReportedRevision = -1;
+
+    // Last error reported to the log and chat; repeats of it only restart the error cooldown
+    private static String reportedErrorFormat = null;
+    private static Object reportedErrorArg = null;
+
+    public static final AutoSellModule INSTANCE = new AutoSellModule();
+
+    private AutoSellModule() {
+    }
+
     public static void register() {
         try {
-            ClientTickEvents.END_CLIENT_TICK.register(client -> {
-                try {
-                    processTick(client);
-                } catch (Exception e) {
-                    handleError("Tick processing error", e);
-                }
-            });
-
+            ModuleDispatcher.add(INSTANCE);
             CWRXPMactro.LOGGER.info("AutoSellModule registered successfully");
         } catch (Exception e) {
             CWRXPMactro.LOGGER.error("Failed to register AutoSellModule", e);
@@ -58,50 +110,87 @@ public class AutoSellModule {
         }
     }
 
-    private static void processTick(MinecraftClient client) {
-        if (registrationError) {
+    @Override
+    public String getName() {
+        return "AutoSell";
+    }
+
+    @Override
+    public boolean isActive(ConfigSnapshot config) {
+        return moduleEnabled && !registrationError && config.enabled && config.autoSellEnabled;
+    }
+
+    @Override
+    public void tick(TickContext context) {
+        try {
+            processTick(context);
+        } catch (Exception e) {
+            handleError("Tick processing error", e);
+        }
+    }
+
+    @Override
+    public void onDisable(TickContext context) {
+        abortSellSequence(context.environment());
+    }
+
+    @Override
+    public void onSessionEnd(TickContext context) {
+        // The player may already be in the next world, so leave its hotbar alone
+        finishSellSequence();
+    }
+
+    private static void onSellResponse(TickContext context, SellResponsePatterns.Outcome outcome, ChatMatch match) {
+        if (sellState != SellState.AWAITING_RESPONSE) {
             return;
         }
 
         try {
-            // Null safety checks
-            if (client == null) {
-                return;
-            }
+            handleSellResponse(context.environment(), context.config(), outcome, match);
+        } catch (Exception e) {
+            handleError("Error handling sell response", e);
+        }
+    }
 
-            FarmHandConfig config = FarmHandConfig.getInstance();
-            if (config == null) {
-                return;
+    private static void processTick(TickContext context) {
+        try {
+            GameEnvironment env = context.environment();
+            ConfigSnapshot config = context.config();
+            tickTime = env.currentTimeMillis();
+            lagFactor = ServerTiming.lagFactor(env.getServerTps());
+            roundTripMs = env.getRoundTripMs();
+
+            // Keep the sell response rules in step with the config
+            ChatMatcher<TickContext> chat = context.chat();
+            if (chat != chatRulesMatcher || config.revision != chatRulesRevision) {
+                chat.register(INSTANCE, config.sellResponses.rules(), AutoSellModule::onSellResponse);
+                chatRulesMatcher = chat;
+                chatRulesRevision = config.revision;
             }
-            
-            // Debug logging with safety checks
+
+            // Debug logging, only formatted when the info level is on
             debugTickCount++;
-            if (debugTickCount % 100 == 0 && config.enableLogging) {
+            if (debugTickCount >= 100) {
                 debugTickCount = 0;
-                try {
-                    logDebug("AutoSell Status: Enabled=" + moduleEnabled + " ConfigEnabled=" + config.enabled + 
-                            " AutoSellEnabled=" + config.autoSellEnabled + " Processing=" + isProcessing.get());
-                } catch (Exception e) {
-                    // Ignore debug logging errors
+                if (config.enableLogging && CWRXPMactro.LOGGER.isInfoEnabled()) {
+                    CWRXPMactro.LOGGER.info("[AutoSell Debug] AutoSell Status: Enabled={} ConfigEnabled={} AutoSellEnabled={} Processing={}",
+                            moduleEnabled, config.enabled, config.autoSellEnabled, isProcessing.get());
                 }
             }
 
-            // Check if module is enabled
-            if (!moduleEnabled || !config.enabled || !config.autoSellEnabled) {
-                return;
-            }
-
-            // Check if we're already processing
-            if (isProcessing.get()) {
+            // Advance a running sell sequence instead of starting a new one
+            if (sellState != SellState.IDLE) {
+                advanceSellSequence(env, config);
                 return;
             }
 
             // Check cooldown
-            long currentTime = System.currentTimeMillis();
-            long cooldownMs = config.autoSellDelay > 0 ? config.autoSellDelay : DEFAULT_COOLDOWN_MS;
+            long currentTime = tickTime;
+            long cooldownMs = ServerTiming.scale(config.autoSellDelay, lagFactor);
+            long errorCooldownMs = ServerTiming.scale(ERROR_COOLDOWN_MS, lagFactor);
 
             // Extended cooldown after errors
-            if (lastErrorTime.get() > 0 && currentTime - lastErrorTime.get() < ERROR_COOLDOWN_MS) {
+            if (lastErrorTime.get() > 0 && currentTime - lastErrorTime.get() < errorCooldownMs) {
                 return;
             }
 
@@ -109,225 +198,266 @@ public class AutoSellModule {
                 return;
             }
 
-            ClientPlayerEntity player = client.player;
-            if (player == null || client.world == null) {
+            // Check if inventory meets the threshold for selling
+            int filledSlots = env.getFilledSlotCount();
+            if (filledSlots < config.inventoryThreshold) {
                 return;
             }
 
-            // Check if inventory meets the threshold for selling
-            int filledSlots = countFilledInventorySlots(player);
-            if (filledSlots < INVENTORY_FULL_THRESHOLD) {
+            // Nothing moved since the last failed hotbar search, so it would fail again
+            long inventoryVersion = env.getInventoryVersion();
+            if (inventoryVersion == missingItemVersion && config.revision == missingItemRevision) {
                 return;
             }
 
-            // Find the configured item in hotbar
-            int itemSlot = findItemInHotbar(player, config.autoSellItemId);
-            if (itemSlot == -1) {
-                if (config.enableLogging) {
-                    logInfo("AutoSell item not found in hotbar: " + config.autoSellItemId + " (Inventory: " + filledSlots + "/36)");
+            // Find every hotbar slot holding one of the configured items
+            int queued = collectSellSlots(env, config.sellItems);
+            if (queued == 0) {
+                missingItemVersion = inventoryVersion;
+                missingItemRevision = config.revision;
+                // Report once per config revision, not on every inventory change while farming
+                if (config.enableLogging && missingItemReportedRevision != config.revision) {
+                    missingItemReportedRevision = config.revision;
+                    logInfo("AutoSell items not found in hotbar: {} (Inventory: {}/36)",
+                            config.autoSellItemsText, filledSlots);
                 }
                 return;
             }
 
+            missingItemReportedRevision = -1;
+
             // Start the auto-sell process
             if (config.enableLogging) {
-                logInfo("Starting auto-sell process (Inventory: " + filledSlots + "/36, Item slot: " + itemSlot + ")");
+                logInfo("Starting auto-sell process (Inventory: {}/36, Slots queued: {})", filledSlots, queued);
             }
-            startAutoSellProcess(client, player, itemSlot, config);
+            startAutoSellProcess(env);
 
         } catch (Exception e) {
             handleError("Critical error in processTick", e);
         }
     }
 
-    private static int countFilledInventorySlots(ClientPlayerEntity player) {
-        if (player == null || player.getInventory() == null) {
+    /**
+     * Walk the hotbar once and queue every slot holding a configured sell item
+     *
+     * @return number of queued slots
+     */
+    private static int collectSellSlots(GameEnvironment env, ItemTargetSet items) {
+        sellQueueSize = 0;
+        if (items.isEmpty()) {
             return 0;
         }
 
         try {
-            int filledSlots = 0;
-            
-            // Check main inventory slots (9-44, which is 36 slots)
-            for (int i = 9; i < 45; i++) {
-                ItemStack stack = player.getInventory().getStack(i);
-                if (stack != null && !stack.isEmpty()) {
-                    filledSlots++;
-                }
-            }
-
-            return filledSlots;
-        } catch (Exception e) {
-            CWRXPMactro.LOGGER.debug("Error counting inventory slots", e);
-            return 0;
-        }
-    }
-
-    private static int findItemInHotbar(ClientPlayerEntity player, String itemId) {
-        if (player == null || player.getInventory() == null) {
-            return -1;
-        }
-
-        try {
-            if (itemId == null || itemId.trim().isEmpty()) {
-                logError("Item ID is null or empty");
-                return -1;
-            }
-
-            // Validate item ID format
-            if (!FarmHandConfig.isValidItemId(itemId)) {
-                logError("Invalid item ID format: " + itemId);
-                return -1;
-            }
-
-            Identifier identifier = Identifier.tryParse(itemId.toLowerCase().trim());
-            if (identifier == null) {
-                logError("Failed to parse item ID: " + itemId);
-                return -1;
-            }
-
-            Item targetItem = Registries.ITEM.get(identifier);
-            if (targetItem == null) {
-                logError("Item not found in registry: " + itemId);
-                return -1;
-            }
-
             // Check hotbar slots (0-8)
-            for (int i = 0; i < 9; i++) {
-                ItemStack stack = player.getInventory().getStack(i);
-                if (stack != null && !stack.isEmpty() && stack.getItem() == targetItem) {
-                    return i;
+            for (int i = 0; i < HOTBAR_SIZE; i++) {
+                Item item = env.getHotbarItem(i);
+                if (item != null && items.matches(item)) {
+                    sellQueueSlots[sellQueueSize] = i;
+                    sellQueueItems[sellQueueSize] = item;
+                    sellQueueSize++;
                 }
             }
         } catch (Exception e) {
-            handleError("Error finding item in hotbar: " + itemId, e);
+            sellQueueSize = 0;
+            handleError("Error finding sell items in hotbar", e);
         }
 
-        return -1;
+        return sellQueueSize;
     }
 
-    private static void startAutoSellProcess(MinecraftClient client, ClientPlayerEntity player, int itemSlot, FarmHandConfig config) {
+    private static void startAutoSellProcess(GameEnvironment env) {
         if (!isProcessing.compareAndSet(false, true)) {
             return; // Already processing
         }
 
-        lastProcessTime.set(System.currentTimeMillis());
-        int originalSlot = player.getInventory().selectedSlot;
-
-        CompletableFuture.runAsync(() -> {
-            int attempts = 0;
-            boolean success = false;
+        lastProcessTime.set(tickTime);
+        originalSlot = env.getSelectedSlot();
+        sellQueueIndex = 0;
+        sellAttempt = 0;
 
-            while (attempts < MAX_RETRIES && !success) {
-                attempts++;
+        beginSellAttempt(env);
+    }
 
-                try {
-                    success = executeAutoSellSequence(client, itemSlot, originalSlot, config);
+    /**
+     * Step the sell sequence by one client tick. Every transition waits for the previous step to be
+     * observed on the player rather than sleeping for a guessed amount of time.
+     */
+    private static void advanceSellSequence(GameEnvironment env, ConfigSnapshot config) {
+        sellStateTicks++;
+        switch (sellState) {
+            case SWITCHING -> {
+                // The slot change is synced to the server on the next interaction manager tick
+                int slot = sellQueueSlots[sellQueueIndex];
+                if (env.getSelectedSlot() != slot || env.getHotbarItem(slot) != sellQueueItems[sellQueueIndex]) {
+                    failSellAttempt(env, config, "Sell item is no longer selected");
+                    return;
+                }
+                if (sellStateTicks < 1 || tickTime < switchReadyTime) {
+                    return;
+                }
 
-                    if (success) {
-                        handleSuccess(config);
-                    } else if (attempts < MAX_RETRIES) {
-                        // Wait before retry
-                        Thread.sleep(500 + ThreadLocalRandom.current().nextInt(500));
-                    }
+                enterSellState(SellState.SENDING);
+                if (!sendSellCommand(env, config)) {
+                    failSellAttempt(env, config, "Failed to send sell command");
+                    return;
+                }
 
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    handleError("Auto-sell process interrupted", e);
-                    break;
-                } catch (Exception e) {
-                    handleError("Error in auto-sell process (attempt " + attempts + ")", e);
+                if (config.sellResponses.isEmpty()) {
+                    // Nothing to confirm against, so trust the command
+                    handleSuccess(config, Double.NaN);
+                    advanceSellQueue(env);
+                    return;
+                }
 
-                    if (attempts < MAX_RETRIES) {
-                        try {
-                            Thread.sleep(1000);
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            break;
-                        }
+                // Stay on the slot until the server answers; the next command must not take this response
+                commandSentTime = tickTime;
+                responseDeadline = tickTime + ServerTiming.scale(RESPONSE_TIMEOUT_MS, lagFactor) + roundTripMs;
+                enterSellState(SellState.AWAITING_RESPONSE);
+            }
+            case AWAITING_RESPONSE -> {
+                if (tickTime >= responseDeadline) {
+                    // The server may have sold without saying so; a retry could sell something else
+                    unconfirmedSellCount.incrementAndGet();
+                    if (sellStepEvent != null) {
+                        sellStepEvent.failure = "No response";
                     }
+                    if (config.enableLogging) {
+                        logInfo("No response to /sell hand, moving on (slot {})", sellQueueSlots[sellQueueIndex]);
+                    }
+                    advanceSellQueue(env);
+                }
+            }
+            case RESTORING -> {
+                if (sellStateTicks >= 1) {
+                    finishSellSequence();
+                }
+            }
+            case RETRY_WAIT -> {
+                if (sellStateTicks >= retryDelayTicks) {
+                    beginSellAttempt(env);
                 }
             }
+            default -> finishSellSequence();
+        }
+    }
 
-            if (!success) {
-                handleError("Auto-sell failed after " + MAX_RETRIES + " attempts", null);
+    /**
+     * Act on the server's answer to the outstanding {@code /sell hand}
+     */
+    private static void handleSellResponse(GameEnvironment env, ConfigSnapshot config,
+                                           SellResponsePatterns.Outcome outcome, ChatMatch match) {
+        tickTime = env.currentTimeMillis();
+        responseTimes.record((tickTime - commandSentTime) * 1_000_000L);
+
+        String message = match.message();
+        switch (outcome) {
+            case SOLD -> {
+                handleSuccess(config, SellResponsePatterns.earnings(match));
+                advanceSellQueue(env);
+            }
+            case COOLDOWN -> failSellAttempt(env, config, "Server sell cooldown");
+            case FAILED -> {
+                // The server refused this item; asking again would get the same answer
+                if (sellStepEvent != null) {
+                    sellStepEvent.failure = message;
+                }
+                sellFailureCount.incrementAndGet();
+                handleError("Server refused sale: {}", message, null);
+                advanceSellQueue(env);
             }
+        }
+    }
 
-        }).whenComplete((result, throwable) -> {
-            isProcessing.set(false);
+    private static void beginSellAttempt(GameEnvironment env) {
+        sellAttempt++;
 
-            if (throwable != null) {
-                handleError("Auto-sell completion error", throwable);
-            }
-        });
+        // Step 1: Switch to item slot
+        env.setSelectedSlot(sellQueueSlots[sellQueueIndex]);
+        switchReadyTime = tickTime + ServerTiming.scale(getRandomDelay(SWITCH_DELAY_RANGE), lagFactor);
+        enterSellState(SellState.SWITCHING);
     }
 
-    private static boolean executeAutoSellSequence(MinecraftClient client, int itemSlot, int originalSlot, FarmHandConfig config)
-            throws InterruptedException {
+    /**
+     * Move on to the next queued slot, or restore the original slot once the queue is done.
+     * Slot packets are sent after the command packet, so the server sells from the right slot.
+     */
+    private static void advanceSellQueue(GameEnvironment env) {
+        sellQueueIndex++;
+        sellAttempt = 0;
 
-        if (client == null || client.player == null) {
-            return false;
+        if (sellQueueIndex < sellQueueSize) {
+            beginSellAttempt(env);
+            return;
         }
 
+        env.setSelectedSlot(originalSlot);
+        enterSellState(SellState.RESTORING);
+    }
+
+    private static boolean sendSellCommand(GameEnvironment env, ConfigSnapshot config) {
         try {
-            // Step 1: Switch to item slot
-            client.execute(() -> {
-                try {
-                    if (client.player != null && client.player.getInventory() != null) {
-                        client.player.getInventory().selectedSlot = itemSlot;
-                    }
-                } catch (Exception e) {
-                    CWRXPMactro.LOGGER.debug("Error switching to item slot", e);
-                }
-            });
-
-            // Human-like delay
-            Thread.sleep(getRandomDelay(SWITCH_DELAY_RANGE));
-
-            // Step 2: Execute sell command
-            final boolean[] commandSent = {false};
-            client.execute(() -> {
-                try {
-                    if (client.player != null && client.player.networkHandler != null) {
-                        client.player.networkHandler.sendChatCommand("sell hand");
-                        commandSent[0] = true;
-                        if (config.enableLogging) {
-                            logInfo("Sent command: /sell hand");
-                        }
-                    }
-                } catch (Exception e) {
-                    CWRXPMactro.LOGGER.debug("Error sending sell command", e);
+            if (env.sendCommand("sell hand")) {
+                if (config.enableLogging) {
+                    logInfo("Sent command: /sell hand");
                 }
-            });
-
-            // Wait for command to be sent
-            Thread.sleep(getRandomDelay(COMMAND_DELAY_RANGE));
-
-            if (!commandSent[0]) {
-                logError("Failed to send sell command");
-                return false;
+                return true;
             }
+        } catch (Exception e) {
+            handleError("Error in auto-sell process (attempt {})", sellAttempt, e);
+        }
+        return false;
+    }
 
-            // Step 3: Switch back to original slot
-            client.execute(() -> {
-                try {
-                    if (client.player != null && client.player.getInventory() != null) {
-                        client.player.getInventory().selectedSlot = originalSlot;
-                    }
-                } catch (Exception e) {
-                    CWRXPMactro.LOGGER.debug("Error switching back to original slot", e);
-                }
-            });
+    private static void failSellAttempt(GameEnvironment env, ConfigSnapshot config, String reason) {
+        logError(reason, sellAttempt);
+        if (sellStepEvent != null) {
+            sellStepEvent.failure = reason;
+        }
 
-            // Final delay to complete the sequence
-            Thread.sleep(getRandomDelay(RESTORE_DELAY_RANGE));
+        if (sellAttempt < MAX_RETRIES) {
+            // Give a lagging server time to catch up, and the failed attempt time to come back
+            retryDelayTicks = (int) Math.ceil(RETRY_DELAY_TICKS * lagFactor) + ServerTiming.roundTripTicks(roundTripMs);
+            env.setSelectedSlot(originalSlot);
+            enterSellState(SellState.RETRY_WAIT);
+            return;
+        }
 
-            return true;
+        sellFailureCount.incrementAndGet();
+        handleError("Auto-sell failed after " + MAX_RETRIES + " attempts (slot {})", sellQueueSlots[sellQueueIndex], null);
+        advanceSellQueue(env);
+    }
 
-        } catch (Exception e) {
-            CWRXPMactro.LOGGER.error("Error in sell sequence", e);
-            return false;
+    private static void abortSellSequence(GameEnvironment env) {
+        if (sellState != SellState.IDLE && env.isInGame()) {
+            env.setSelectedSlot(originalSlot);
+        }
+        finishSellSequence();
+    }
+
+    private static void enterSellState(SellState state) {
+        SellStepEvent event = sellStepEvent;
+        if (event != null) {
+            event.nextState = state.name();
+            event.commit();
+        }
+        sellStepEvent = state == SellState.IDLE ? null : FarmHandProfiler.beginSellStep();
+        if (sellStepEvent != null) {
+            sellStepEvent.state = state.name();
+            sellStepEvent.slot = sellQueueIndex < sellQueueSize ? sellQueueSlots[sellQueueIndex] : originalSlot;
+            sellStepEvent.attempt = sellAttempt;
         }
+
+        sellState = state;
+        sellStateTicks = 0;
+    }
+
+    private static void finishSellSequence() {
+        enterSellState(SellState.IDLE);
+        Arrays.fill(sellQueueItems, null);
+        sellQueueSize = 0;
+        sellQueueIndex = 0;
+        isProcessing.set(false);
     }
 
     private static int getRandomDelay(int[] range) {
@@ -338,14 +468,22 @@ public class AutoSellModule {
         }
     }
 
-    private static void handleSuccess(FarmHandConfig config) {
+    /**
+     * @param earnings amount the server reported for the sale, or NaN if unknown
+     */
+    private static void handleSuccess(ConfigSnapshot config, double earnings) {
         try {
-            lastSuccessTime = System.currentTimeMillis();
+            lastSuccessTime = tickTime;
             sellCount.incrementAndGet();
-            lastError = null;
+            Throughput.SELLS.record(tickTime, 1);
+            clearError();
+            if (!Double.isNaN(earnings)) {
+                totalEarnings += earnings;
+                Throughput.EARNINGS.record(tickTime, earnings);
+            }
 
             if (config != null && config.enableLogging) {
-                logInfo("Auto-sell completed successfully! (Total: " + sellCount.get() + ")");
+                logInfo("Auto-sell completed successfully! (Total: {})", sellCount.get());
             }
 
             // Play success sound if enabled
@@ -369,10 +507,27 @@ public class AutoSellModule {
     }
 
     private static void handleError(String message, Throwable error) {
+        handleError(message, null, error);
+    }
+
+    /**
+     * Start the error cooldown and report the error to the log and the player. A failing loop repeats the
+     * same error, so a repeat of the last reported one is not reported again; the message is only
+     * formatted when it is.
+     *
+     * @param format message with one {@code {}} placeholder for {@code arg}, or none if {@code arg} is null
+     */
+    private static void handleError(String format, Object arg, Throwable error) {
         try {
-            lastErrorTime.set(System.currentTimeMillis());
-            lastError = message;
+            lastErrorTime.set(tickTime);
+            if (format.equals(reportedErrorFormat) && Objects.equals(arg, reportedErrorArg)) {
+                return;
+            }
+            reportedErrorFormat = format;
+            reportedErrorArg = arg;
 
+            String message = arg == null ? format : MessageFormatter.format(format, arg).getMessage();
+            lastError = message;
             if (error != null) {
                 CWRXPMactro.LOGGER.error(message, error);
             } else {
@@ -380,63 +535,67 @@ public class AutoSellModule {
             }
 
             // Send error message to player
-            MinecraftClient client = MinecraftClient.getInstance();
-            if (client != null && client.player != null) {
-                client.execute(() -> {
-                    try {
-                        if (client.player != null) {
-                            client.player.sendMessage(
-                                    Text.literal("[AutoSell] " + message).formatted(Formatting.RED),
-                                    false
-                            );
-                        }
-                    } catch (Exception e) {
-                        // Ignore message errors
-                    }
-                });
-            }
+            sendPlayerMessage(message, Formatting.RED);
         } catch (Exception e) {
             // Last resort error handling
             CWRXPMactro.LOGGER.error("Critical error in error handler", e);
         }
     }
 
+    private static void clearError() {
+        lastError = null;
+        reportedErrorFormat = null;
+        reportedErrorArg = null;
+    }
+
+    private static void logInfo(String format, Object arg) {
+        logInfo(MessageFormatter.format(format, arg).getMessage());
+    }
+
+    private static void logInfo(String format, Object arg1, Object arg2) {
+        logInfo(MessageFormatter.format(format, arg1, arg2).getMessage());
+    }
+
     private static void logInfo(String message) {
         try {
-            CWRXPMactro.LOGGER.info("[AutoSell] " + message);
-
-            // Send info message to player
-            MinecraftClient client = MinecraftClient.getInstance();
-            if (client != null && client.player != null) {
-                client.execute(() -> {
-                    try {
-                        if (client.player != null) {
-                            client.player.sendMessage(
-                                    Text.literal("[AutoSell] " + message).formatted(Formatting.GREEN),
-                                    false
-                            );
-                        }
-                    } catch (Exception e) {
-                        // Ignore message errors
-                    }
-                });
-            }
+            CWRXPMactro.LOGGER.info("[AutoSell] {}", message);
+            sendPlayerMessage(message, Formatting.GREEN);
         } catch (Exception e) {
             // Ignore logging errors
         }
     }
 
-    private static void logError(String message) {
+    /**
+     * Show a message in chat, directly when already on the client thread. Nothing is built without a player.
+     */
+    private static void sendPlayerMessage(String message, Formatting formatting) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client == null || client.player == null) {
+            return;
+        }
+        if (client.isOnThread()) {
+            sendPlayerMessage(client, message, formatting);
+        } else {
+            client.execute(() -> sendPlayerMessage(client, message, formatting));
+        }
+    }
+
+    private static void sendPlayerMessage(MinecraftClient client, String message, Formatting formatting) {
         try {
-            CWRXPMactro.LOGGER.error("[AutoSell] " + message);
+            if (client.player != null) {
+                client.player.sendMessage(
+                        Text.literal("[AutoSell] " + message).formatted(formatting),
+                        false
+                );
+            }
         } catch (Exception e) {
-            // Ignore logging errors
+            // Ignore message errors
         }
     }
 
-    private static void logDebug(String message) {
+    private static void logError(String reason, int attempt) {
         try {
-            CWRXPMactro.LOGGER.info("[AutoSell Debug] " + message);
+            CWRXPMactro.LOGGER.error("[AutoSell] {} (attempt {})", reason, attempt);
         } catch (Exception e) {
             // Ignore logging errors
         }
@@ -455,6 +614,34 @@ public class AutoSellModule {
         return sellCount.get();
     }
 
+    /**
+     * Sales the server never answered within the response timeout
+     */
+    public static long getUnconfirmedSellCount() {
+        return unconfirmedSellCount.get();
+    }
+
+    /**
+     * Items given up on, refused by the server or still failing after every retry
+     */
+    public static long getSellFailureCount() {
+        return sellFailureCount.get();
+    }
+
+    /**
+     * Sum of the amounts reported in sale confirmations
+     */
+    public static double getTotalEarnings() {
+        return totalEarnings;
+    }
+
+    /**
+     * Time from each {@code /sell hand} to the server's answer
+     */
+    public static TickHistogram getResponseTimes() {
+        return responseTimes;
+    }
+
     public static String getLastError() {
         return lastError;
     }
@@ -465,13 +652,18 @@ public class AutoSellModule {
 
     public static void resetStats() {
         sellCount.set(0);
-        lastError = null;
+        unconfirmedSellCount.set(0);
+        sellFailureCount.set(0);
+        totalEarnings = 0;
+        Throughput.SELLS.reset();
+        Throughput.EARNINGS.reset();
+        clearError();
         lastSuccessTime = 0;
         lastErrorTime.set(0);
     }
 
     public static void forceStop() {
-        isProcessing.set(false);
+        abortSellSequence(ClientGameEnvironment.INSTANCE);
         CWRXPMactro.LOGGER.info("AutoSell module force stopped");
     }
 
@@ -490,10 +682,12 @@ public class AutoSellModule {
     public static String getStatusSummary() {
         try {
             return String.format(
-                    "AutoSell Status: %s | Processing: %s | Sales: %d | Last Success: %s | Last Error: %s",
+                    "AutoSell Status: %s | Processing: %s | Sales: %d (%d unconfirmed) | Earned: %.2f | Last Success: %s | Last Error: %s",
                     moduleEnabled ? "ENABLED" : "DISABLED",
                     isProcessing.get() ? "YES" : "NO",
                     sellCount.get(),
+                    unconfirmedSellCount.get(),
+                    totalEarnings,
                     lastSuccessTime > 0 ? "Yes" : "Never",
                     lastError != null ? lastError : "None"
             );
@@ -0,0 +1,61 @@
+package org.macro.cwrmacro.module;
+
+import org.macro.cwrmacro.config.ConfigSnapshot;
+
+/**
+ * A feature driven by {@link ModuleDispatcher}.
+ * <p>
+ * All hooks run on the client thread. {@link #tick(TickContext)} is only called while the module is active
+ * and a player and world are present, so implementations do not repeat those checks. Modules reach the game
+ * only through {@link TickContext#environment()}, which lets them run headless.
+ */
+public interface Module {
+    String getName();
+
+    /**
+     * Whether the module should run under the given configuration. Called once per tick, so keep it
+     * to field reads.
+     */
+    boolean isActive(ConfigSnapshot config);
+
+    void tick(TickContext context);
+
+    /**
+     * The module became active, or a session started while it was active
+     */
+    default void onEnable(TickContext context) {
+    }
+
+    /**
+     * The module stopped being active; abandon any in-flight work
+     */
+    default void onDisable(TickContext context) {
+    }
+
+    /**
+     * A living entity came under the crosshair. Only delivered while the module is active, as soon as the
+     * crosshair is updated early in a tick; {@link TickContext#tick()} is then still the last
+     * dispatched tick.
+     */
+    default void onTargetAcquired(TickContext context, int entityId) {
+    }
+
+    /**
+     * The entity from {@link #onTargetAcquired} left the crosshair or was removed
+     */
+    default void onTargetLost(TickContext context, int entityId) {
+    }
+
+    /**
+     * A player joined a world
+     */
+    default void onSessionStart(TickContext context) {
+    }
+
+    /**
+     * The player or world went away, or was replaced by a new connection or dimension; in-flight work
+     * must not touch them any more and references to them must be dropped
+     */
+    default void onSessionEnd(TickContext context) {
+    }
+}
@@ -0,0 +1,286 @@
+package org.macro.cwrmacro.module;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientWorldEvents;
+import net.fabricmc.fabric.api.client.message.v1.ClientReceiveMessageEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.text.Text;
+import org.macro.cwrmacro.CWRXPMactro;
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.config.FarmHandConfig;
+import org.macro.cwrmacro.env.ClientGameEnvironment;
+import org.macro.cwrmacro.inventory.InventoryTracker;
+import org.macro.cwrmacro.keybind.FarmHandKeybind;
+import org.macro.cwrmacro.metrics.MetricsServer;
+import org.macro.cwrmacro.network.ServerTiming;
+import org.macro.cwrmacro.profiler.FarmHandProfiler;
+import org.macro.cwrmacro.profiler.ModuleTickEvent;
+import org.macro.cwrmacro.profiler.TickHistogram;
+import org.macro.cwrmacro.stats.StatsStore;
+
+import java.util.Arrays;
+
+/**
+ * The mod's single {@code END_CLIENT_TICK} listener.
+ * <p>
+ * Each tick runs, in order: keybind handling, inventory tracking, server timing, the metrics endpoint, then,
+ * in a session, the stats store and every module in registration order. The config snapshot is captured once,
+ * after keybinds had a chance to change it, and shared through a reused {@link TickContext}. Modules only
+ * tick while they are active and a player is in a world; a disabled module costs one {@link Module#isActive}
+ * call. Every module tick is timed into a {@link TickHistogram} and, while a JFR recording asks for it,
+ * emitted as a {@link ModuleTickEvent}.
+ * <p>
+ * Crosshair changes reported by {@code GameRendererMixin} are published to active modules as target
+ * acquired / lost events as soon as they happen, so modules never poll the hit result. Server system
+ * messages are converted to plain text once and run through the context's {@link TickContext#chat()
+ * chat matcher}, which calls back the modules whose rules match.
+ * <p>
+ * A session lasts from the first tick a player is in a world until the player or world goes away. Joining a
+ * server, disconnecting and changing dimension end the current session immediately instead of waiting for the
+ * next tick, so no action meant for the old world runs in the new one. The next tick with a player starts a
+ * fresh session. The stats store opens and closes its session at the same boundaries.
+ */
+public final class ModuleDispatcher {
+    private static final TickContext CONTEXT = new TickContext(ClientGameEnvironment.INSTANCE);
+
+    // Only touched on the client thread once registration is done
+    private static Module[] modules = new Module[0];
+    private static boolean[] active = new boolean[0];
+    private static TickHistogram[] histograms = new TickHistogram[0];
+    private static boolean inSession = false;
+    private static long tickCount = 0;
+    private static int crosshairTarget = -1;
+
+    private ModuleDispatcher() {
+    }
+
+    public static void register() {
+        ClientTickEvents.END_CLIENT_TICK.register(ModuleDispatcher::tick);
+        ClientReceiveMessageEvents.GAME.register(ModuleDispatcher::onGameMessage);
+        ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> resetSession());
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(ModuleDispatcher::resetSession));
+        ClientWorldEvents.AFTER_CLIENT_WORLD_CHANGE.register((client, world) -> resetSession());
+        CWRXPMactro.LOGGER.info("ModuleDispatcher registered successfully");
+    }
+
+    /**
+     * Add a module; modules tick in the order they were added
+     */
+    public static synchronized void add(Module module) {
+        for (Module existing : modules) {
+            if (existing == module) {
+                return;
+            }
+        }
+        modules = Arrays.copyOf(modules, modules.length + 1);
+        modules[modules.length - 1] = module;
+        active = Arrays.copyOf(active, modules.length);
+        histograms = Arrays.copyOf(histograms, modules.length);
+        histograms[modules.length - 1] = FarmHandProfiler.histogram(module.getName());
+    }
+
+    public static boolean isActive(Module module) {
+        Module[] current = modules;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == module) {
+                return active[i];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called after the crosshair target was recomputed, with the living entity under it or -1
+     */
+    public static void onCrosshairUpdated(int target) {
+        if (target == crosshairTarget) {
+            return;
+        }
+        int previous = crosshairTarget;
+        crosshairTarget = target;
+        if (!inSession) {
+            return;
+        }
+
+        // The crosshair is updated early in the next tick, before the player and world tick, so the game
+        // state still matches the end of the last dispatched tick
+        CONTEXT.update(FarmHandConfig.snapshot(), tickCount);
+        Module[] current = modules;
+        for (int i = 0; i < current.length; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            Module module = current[i];
+            try {
+                if (previous >= 0) {
+                    module.onTargetLost(CONTEXT, previous);
+                }
+                if (target >= 0) {
+                    module.onTargetAcquired(CONTEXT, target);
+                }
+            } catch (Exception e) {
+                CWRXPMactro.LOGGER.error("Error in {} crosshair handling", module.getName(), e);
+            }
+        }
+    }
+
+    private static void onGameMessage(Text message, boolean overlay) {
+        if (!inSession) {
+            return;
+        }
+
+        try {
+            CONTEXT.update(FarmHandConfig.snapshot(), tickCount);
+            CONTEXT.chat().process(CONTEXT, message.getString());
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Error matching chat message", e);
+        }
+    }
+
+    /**
+     * Living entity under the crosshair as of the last update, or -1
+     */
+    public static int getCrosshairTarget() {
+        return crosshairTarget;
+    }
+
+    private static void tick(MinecraftClient client) {
+        tickCount++;
+
+        try {
+            FarmHandKeybind.tick(client);
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Error handling keybinds", e);
+        }
+
+        try {
+            InventoryTracker.tick(client);
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Error tracking inventory", e);
+        }
+
+        try {
+            ServerTiming.tick(client);
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Error estimating server timing", e);
+        }
+
+        ConfigSnapshot config = FarmHandConfig.snapshot();
+
+        try {
+            MetricsServer.apply(config);
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Error applying metrics config", e);
+        }
+
+        CONTEXT.update(config, tickCount);
+
+        boolean session = CONTEXT.inSession();
+        if (session != inSession) {
+            inSession = session;
+            if (session) {
+                startSession();
+            } else {
+                endSession();
+            }
+        }
+        if (!session) {
+            return;
+        }
+
+        try {
+            StatsStore.tick();
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Error recording stats", e);
+        }
+
+        Module[] current = modules;
+        for (int i = 0; i < current.length; i++) {
+            Module module = current[i];
+            try {
+                boolean nowActive = module.isActive(config);
+                if (nowActive != active[i]) {
+                    active[i] = nowActive;
+                    if (nowActive) {
+                        module.onEnable(CONTEXT);
+                    } else {
+                        module.onDisable(CONTEXT);
+                    }
+                }
+
+                if (nowActive) {
+                    tickModule(module, histograms[i]);
+                }
+            } catch (Exception e) {
+                CWRXPMactro.LOGGER.error("Error in {} tick", module.getName(), e);
+            }
+        }
+    }
+
+    private static void tickModule(Module module, TickHistogram histogram) {
+        ModuleTickEvent event = FarmHandProfiler.beginModuleTick();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            module.tick(CONTEXT);
+            failed = false;
+        } finally {
+            histogram.record(System.nanoTime() - start);
+            if (event != null) {
+                event.module = module.getName();
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private static void startSession() {
+        try {
+            StatsStore.onSessionStart();
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Error starting stats session", e);
+        }
+
+        for (Module module : modules) {
+            try {
+                module.onSessionStart(CONTEXT);
+            } catch (Exception e) {
+                CWRXPMactro.LOGGER.error("Error starting {} session", module.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * The connection or world was replaced: drop pending work and end the current session now
+     */
+    private static void resetSession() {
+        if (inSession) {
+            inSession = false;
+            CONTEXT.update(FarmHandConfig.snapshot(), tickCount);
+            endSession();
+        }
+    }
+
+    /**
+     * End the session for every module. Active modules go inactive without {@link Module#onDisable},
+     * so they see {@link Module#onEnable} again when the next session starts.
+     */
+    private static void endSession() {
+        crosshairTarget = -1;
+        for (int i = 0; i < modules.length; i++) {
+            active[i] = false;
+            try {
+                modules[i].onSessionEnd(CONTEXT);
+            } catch (Exception e) {
+                CWRXPMactro.LOGGER.error("Error ending {} session", modules[i].getName(), e);
+            }
+        }
+
+        try {
+            StatsStore.onSessionEnd();
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Error ending stats session", e);
+        }
+    }
+}
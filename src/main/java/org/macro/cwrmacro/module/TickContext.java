@@ -0,0 +1,52 @@
+package org.macro.cwrmacro.module;
+
+import org.macro.cwrmacro.chat.ChatMatcher;
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.env.GameEnvironment;
+
+/**
+ * Per-tick state shared by every module. A single instance is refilled by its driver
+ * ({@link ModuleDispatcher} in game, a simulator elsewhere) each tick, so modules must not keep a
+ * reference to it.
+ */
+public final class TickContext {
+    private final GameEnvironment environment;
+    private final ChatMatcher<TickContext> chat = new ChatMatcher<>();
+    private ConfigSnapshot config;
+    private long tick;
+
+    public TickContext(GameEnvironment environment) {
+        this.environment = environment;
+    }
+
+    public void update(ConfigSnapshot config, long tick) {
+        this.config = config;
+        this.tick = tick;
+    }
+
+    public GameEnvironment environment() {
+        return environment;
+    }
+
+    /**
+     * Matcher the driver runs every server message through; modules register their chat rules here
+     */
+    public ChatMatcher<TickContext> chat() {
+        return chat;
+    }
+
+    public ConfigSnapshot config() {
+        return config;
+    }
+
+    /**
+     * Number of ticks dispatched since startup
+     */
+    public long tick() {
+        return tick;
+    }
+
+    public boolean inSession() {
+        return environment.isInGame();
+    }
+}
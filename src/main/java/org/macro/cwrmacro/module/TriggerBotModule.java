@@ -1,166 +1,237 @@
 package org.macro.cwrmacro.module;
 
-import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
-import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.network.ClientPlayerEntity;
-import net.minecraft.entity.Entity;
-import net.minecraft.entity.EntityType;
-import net.minecraft.entity.LivingEntity;
-import net.minecraft.registry.Registries;
-import net.minecraft.util.Hand;
-import net.minecraft.util.Identifier;
-import net.minecraft.util.hit.EntityHitResult;
-import net.minecraft.util.hit.HitResult;
 import org.macro.cwrmacro.CWRXPMactro;
+import org.macro.cwrmacro.combat.KillTracker;
+import org.macro.cwrmacro.config.ConfigSnapshot;
 import org.macro.cwrmacro.config.FarmHandConfig;
+import org.macro.cwrmacro.env.GameEnvironment;
+import org.macro.cwrmacro.network.ServerTiming;
+import org.macro.cwrmacro.profiler.AttackEvent;
+import org.macro.cwrmacro.profiler.FarmHandProfiler;
+import org.macro.cwrmacro.profiler.Throughput;
 
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
-public class TriggerBotModule {
+public class TriggerBotModule implements Module {
     private static final AtomicBoolean isAttacking = new AtomicBoolean(false);
     private static final AtomicLong lastAttackTime = new AtomicLong(0);
     private static final AtomicLong attackCount = new AtomicLong(0);
-    private static final long MIN_ATTACK_INTERVAL = 10; // Very fast minimum interval
+    private static final long TICK_MS = 50;
+    // Same partial-tick offset the vanilla attack indicator uses
+    private static final float COOLDOWN_BASE_TICKS = 0.5F;
     private static volatile int debugTickCount = 0;
 
-    public static void register() {
-        ClientTickEvents.END_CLIENT_TICK.register(client -> {
-            try {
-                processTick(client);
-            } catch (Exception e) {
-                CWRXPMactro.LOGGER.error("Error in TriggerBot tick processing", e);
-            }
-        });
+    // Attack planning, only touched on the client thread
+    private static long plannedAttackTick = -1;
+    private static long lastAttackTick = -1;
+    private static int currentTarget = -1;
+    private static int currentTargetType = -1;
+    private static long acquiredTick = -1;
 
+    public static final TriggerBotModule INSTANCE = new TriggerBotModule();
+
+    private TriggerBotModule() {
+    }
+
+    public static void register() {
+        ModuleDispatcher.add(INSTANCE);
         CWRXPMactro.LOGGER.info("TriggerBotModule registered successfully");
     }
 
-    private static void processTick(MinecraftClient client) {
-        FarmHandConfig config = FarmHandConfig.getInstance();
+    @Override
+    public String getName() {
+        return "TriggerBot";
+    }
 
-        // Debug logging every 20 seconds (400 ticks) - less frequent
-        debugTickCount++;
-        if (debugTickCount % 400 == 0 && config.enableLogging) {
-            debugTickCount = 0;
-            logDebug("TriggerBot Status: Enabled=" + config.enabled + " TriggerBotEnabled=" + config.triggerBotEnabled + 
-                    " Speed=" + config.triggerBotSpeed);
-        }
+    @Override
+    public boolean isActive(ConfigSnapshot config) {
+        return config.enabled && config.triggerBotEnabled;
+    }
 
-        // Check if module is enabled
-        if (!config.enabled || !config.triggerBotEnabled) {
-            return;
+    @Override
+    public void tick(TickContext context) {
+        try {
+            processTick(context);
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Error in TriggerBot tick processing", e);
         }
+    }
 
-        // Check if we're already attacking or too soon since last attack
-        if (isAttacking.get() || System.currentTimeMillis() - lastAttackTime.get() < MIN_ATTACK_INTERVAL) {
-            return;
+    @Override
+    public void onEnable(TickContext context) {
+        // No acquired event is delivered for a target that was already under the crosshair
+        int target = context.environment().getCrosshairTarget();
+        if (target >= 0) {
+            onTargetAcquired(context, target);
         }
+    }
 
-        ClientPlayerEntity player = client.player;
-        if (player == null || client.world == null) {
-            return;
-        }
+    @Override
+    public void onDisable(TickContext context) {
+        cancelPendingAttack();
+    }
 
-        // Check attack cooldown - if speed is 0 (instant), skip cooldown check
-        if (config.triggerBotSpeed > 0 && player.getAttackCooldownProgress(0.5F) < 1.0F) {
+    @Override
+    public void onTargetAcquired(TickContext context, int entityId) {
+        GameEnvironment env = context.environment();
+        int type = env.getTargetTypeRawId(entityId);
+        cancelPendingAttack();
+        if (!context.config().targets.matchesRawId(type)) {
             return;
         }
 
-        // Check if crosshair is targeting the configured entity
-        HitResult hitResult = client.crosshairTarget;
-        if (hitResult == null || hitResult.getType() != HitResult.Type.ENTITY) {
-            return;
+        currentTarget = entityId;
+        currentTargetType = type;
+        acquiredTick = context.tick();
+        try {
+            tryAttack(context);
+        } catch (Exception e) {
+            CWRXPMactro.LOGGER.error("Error in TriggerBot target acquisition", e);
         }
+    }
 
-        EntityHitResult entityHitResult = (EntityHitResult) hitResult;
-        Entity targetEntity = entityHitResult.getEntity();
-
-        if (!isTargetEntity(targetEntity, config.triggerBotEntityId)) {
-            return;
+    @Override
+    public void onTargetLost(TickContext context, int entityId) {
+        if (entityId == currentTarget) {
+            cancelPendingAttack();
         }
+    }
 
-        // Start attack process
-        startAttackProcess(client, player, targetEntity, config);
+    @Override
+    public void onSessionEnd(TickContext context) {
+        cancelPendingAttack();
+        // Entity IDs are only meaningful within one world
+        KillTracker.clearTracked();
     }
 
-    private static boolean isTargetEntity(Entity entity, String entityId) {
-        try {
-            if (entityId == null || entityId.trim().isEmpty()) {
-                return false;
-            }
+    private static void processTick(TickContext context) {
+        GameEnvironment env = context.environment();
+        ConfigSnapshot config = context.config();
 
-            Identifier identifier = Identifier.tryParse(entityId.toLowerCase().trim());
-            if (identifier == null) {
-                return false;
+        // Debug logging every 20 seconds (400 ticks), only formatted when the info level is on
+        debugTickCount++;
+        if (debugTickCount >= 400) {
+            debugTickCount = 0;
+            if (config.enableLogging && CWRXPMactro.LOGGER.isInfoEnabled()) {
+                CWRXPMactro.LOGGER.info("[TriggerBot Debug] TriggerBot Status: Enabled={} TriggerBotEnabled={} Speed={}",
+                        config.enabled, config.triggerBotEnabled, config.triggerBotSpeed);
             }
+        }
 
-            EntityType<?> targetType = Registries.ENTITY_TYPE.get(identifier);
-            if (targetType == null) {
-                return false;
-            }
+        KillTracker.tick(env);
 
-            return entity.getType() == targetType && entity instanceof LivingEntity;
-        } catch (Exception e) {
-            CWRXPMactro.LOGGER.error("Error checking target entity: " + entityId, e);
-            return false;
+        // Nothing to do without a target; waiting for a planned attack costs one comparison per tick
+        if (currentTarget < 0 || context.tick() < plannedAttackTick) {
+            return;
         }
+        tryAttack(context);
     }
 
-    private static void startAttackProcess(MinecraftClient client, ClientPlayerEntity player, Entity target, FarmHandConfig config) {
-        if (!isAttacking.compareAndSet(false, true)) {
-            return; // Already attacking
+    /**
+     * Attack the current target now if everything allows it, otherwise plan the tick to try again
+     */
+    private static void tryAttack(TickContext context) {
+        GameEnvironment env = context.environment();
+        ConfigSnapshot config = context.config();
+        long tick = context.tick();
+        int target = currentTarget;
+        int targetType = currentTargetType;
+
+        plannedAttackTick = -1;
+        isAttacking.set(false);
+
+        // At most one swing per tick, and the target list may have changed since acquisition
+        if (tick == lastAttackTick || !config.targets.matchesRawId(targetType)) {
+            return;
         }
 
-        lastAttackTime.set(System.currentTimeMillis());
+        // Attack on the tick the cooldown completes, but no sooner than the configured reaction delay.
+        // Speed 0 (instant) ignores the cooldown entirely.
+        float lagFactor = ServerTiming.lagFactor(env.getServerTps());
+        long dueTick = tick;
+        if (config.triggerBotSpeed > 0) {
+            dueTick = Math.max(tick + ticksUntilCooldownReady(env, lagFactor),
+                    acquiredTick + (config.triggerBotSpeed + TICK_MS - 1) / TICK_MS);
+        }
 
-        // If speed is 0, attack instantly
-        if (config.triggerBotSpeed == 0) {
-            executeAttack(client, target);
-            isAttacking.set(false);
+        if (dueTick > tick) {
+            // Everything is re-checked when the planned tick arrives
+            plannedAttackTick = dueTick;
+            isAttacking.set(true);
             return;
         }
 
-        // Otherwise use configured delay
-        CompletableFuture.runAsync(() -> {
-            try {
-                // Use configured speed as delay
-                int delay = config.triggerBotSpeed + ThreadLocalRandom.current().nextInt(50); // Small random variance
-                Thread.sleep(delay);
-
-                executeAttack(client, target);
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                CWRXPMactro.LOGGER.error("Attack process interrupted", e);
-            } catch (Exception e) {
-                CWRXPMactro.LOGGER.error("Error in attack process", e);
-            } finally {
-                isAttacking.set(false);
+        // Don't spend the cooldown on a swing that can't deal damage
+        if (!KillTracker.canTakeDamage(env, target)) {
+            int hurtTime = env.getTargetHurtTime(target);
+            if (hurtTime > 0 && env.getTargetHealth(target) > 0) {
+                // Try again on the tick the invulnerability window ends; the server counts it in
+                // its own ticks
+                KillTracker.onSkipped(targetType);
+                plannedAttackTick = tick + (long) Math.ceil(hurtTime * lagFactor);
+                isAttacking.set(true);
+            } else {
+                // Dying; wait for its removal to take it off the crosshair
+                KillTracker.onSkipped(targetType);
+                plannedAttackTick = Long.MAX_VALUE;
             }
-        });
+            return;
+        }
+
+        lastAttackTick = tick;
+        lastAttackTime.set(env.currentTimeMillis());
+        executeAttack(env, target, targetType);
+    }
+
+    /**
+     * Whole ticks until the attack cooldown is fully charged, from the attack speed attribute and the
+     * ticks since the last swing. Vanilla charges the cooldown once per player tick, before modules tick.
+     * The server charges its copy once per server tick, so a lagging server needs proportionally more
+     * client ticks.
+     */
+    private static int ticksUntilCooldownReady(GameEnvironment env, float lagFactor) {
+        float remaining = (env.getAttackCooldownTicks() - COOLDOWN_BASE_TICKS) * lagFactor - env.getTicksSinceAttack();
+        return remaining <= 0 ? 0 : (int) Math.ceil(remaining);
     }
 
-    private static void executeAttack(MinecraftClient client, Entity target) {
-        client.execute(() -> {
-            if (client.player != null && client.interactionManager != null) {
+    private static void executeAttack(GameEnvironment env, int target, int targetType) {
+        AttackEvent event = FarmHandProfiler.beginAttack();
+        String outcome = "no player";
+        try {
+            if (env.isInGame()) {
                 // Double-check target validity
-                if (target.isAlive() && !target.isRemoved()) {
-                    // Attack the entity
-                    client.interactionManager.attackEntity(client.player, target);
-                    client.player.swingHand(Hand.MAIN_HAND);
-                    
+                boolean damageable = KillTracker.canTakeDamage(env, target);
+                if (!env.isTargetAlive(target)) {
+                    outcome = "target gone";
+                } else if (env.attack(target)) {
                     attackCount.incrementAndGet();
+                    Throughput.ATTACKS.record(env.currentTimeMillis(), 1);
+                    outcome = "attacked";
+                    boolean wasted = KillTracker.onSwing(env, target, targetType, damageable);
+                    if (event != null) {
+                        event.wasted = wasted;
+                    }
                     // REMOVED: No more attack messages spam
                 }
             }
-        });
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            if (event != null) {
+                event.target = KillTracker.typeName(targetType);
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
     }
 
-    private static void logDebug(String message) {
-        CWRXPMactro.LOGGER.info("[TriggerBot Debug] " + message);
+    private static void cancelPendingAttack() {
+        plannedAttackTick = -1;
+        currentTarget = -1;
+        currentTargetType = -1;
+        isAttacking.set(false);
     }
 
     // Public API methods for monitoring and control
@@ -179,21 +250,25 @@ public class TriggerBotModule {
     public static void resetStats() {
         attackCount.set(0);
         lastAttackTime.set(0);
+        KillTracker.reset();
+        Throughput.ATTACKS.reset();
+        Throughput.KILLS.reset();
     }
 
     public static void forceStop() {
-        isAttacking.set(false);
+        cancelPendingAttack();
         CWRXPMactro.LOGGER.info("TriggerBot module force stopped");
     }
 
     public static String getStatusSummary() {
-        FarmHandConfig config = FarmHandConfig.getInstance();
+        ConfigSnapshot config = FarmHandConfig.snapshot();
         return String.format(
-                "TriggerBot Status: %s | Speed: %s | Attacks: %d | Target: %s",
+                "TriggerBot Status: %s | Speed: %s | Attacks: %d | Kills: %d | Target: %s",
                 config.triggerBotEnabled ? "ENABLED" : "DISABLED",
                 config.triggerBotSpeed == 0 ? "INSTANT" : config.triggerBotSpeed + "ms",
                 attackCount.get(),
-                config.triggerBotEntityId
+                KillTracker.getTotalKills(),
+                config.triggerBotEntitiesText
         );
     }
 }
\ No newline at end of file
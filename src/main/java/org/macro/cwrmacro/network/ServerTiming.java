@@ -0,0 +1,186 @@
+package org.macro.cwrmacro.network;
+
+import net.fabricmc.fabric.api.client.message.v1.ClientReceiveMessageEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.client.network.PlayerListEntry;
+import net.minecraft.client.world.ClientWorld;
+import org.macro.cwrmacro.CWRXPMactro;
+
+/**
+ * Estimates how healthy the connected server is, so modules can stretch their timing when it lags.
+ * <p>
+ * Server TPS comes from world time updates, which the server sends every 20 of its ticks: the world time
+ * advanced between two packets over the wall time between them. Round-trip time is the larger of the
+ * player list latency and a smoothed sample of how long the first chat message after a command took to
+ * arrive. Everything is written on the client thread; the estimates are volatile for readers elsewhere.
+ */
+public final class ServerTiming {
+    public static final float NOMINAL_TPS = 20.0F;
+
+    // Lag factors are capped so a frozen server slows modules down without stalling them forever
+    private static final float MIN_TPS = 5.0F;
+    private static final float SMOOTHING = 0.3F;
+    private static final long MIN_SAMPLE_MS = 500;
+    private static final long MAX_SAMPLE_MS = 10_000;
+    private static final long STALE_MS = 3000;
+    private static final long COMMAND_RESPONSE_TIMEOUT_MS = 5000;
+    private static final int LATENCY_POLL_TICKS = 20;
+
+    private static volatile float tps = NOMINAL_TPS;
+    private static volatile int roundTripMs = 0;
+
+    // Client thread only
+    private static float sampledTps = NOMINAL_TPS;
+    private static long lastWorldTime = -1;
+    private static long lastWorldTimeMs = 0;
+    private static int playerListLatencyMs = 0;
+    private static float commandRoundTripMs = 0;
+    private static long pendingCommandMs = 0;
+    private static int ticksUntilLatencyPoll = 0;
+    private static ClientPlayNetworkHandler trackedHandler = null;
+    private static ClientWorld trackedWorld = null;
+
+    private ServerTiming() {
+    }
+
+    public static void register() {
+        ClientReceiveMessageEvents.GAME.register((message, overlay) -> onGameMessage(System.currentTimeMillis()));
+        CWRXPMactro.LOGGER.info("ServerTiming registered successfully");
+    }
+
+    /**
+     * Called by ModuleDispatcher every client tick
+     */
+    public static void tick(MinecraftClient client) {
+        ClientPlayNetworkHandler handler = client.getNetworkHandler();
+        if (handler != trackedHandler) {
+            trackedHandler = handler;
+            reset();
+        }
+        if (client.world != trackedWorld) {
+            // World time restarts its meaning in a new world
+            trackedWorld = client.world;
+            lastWorldTime = -1;
+        }
+        if (handler == null || client.player == null) {
+            return;
+        }
+
+        if (--ticksUntilLatencyPoll <= 0) {
+            ticksUntilLatencyPoll = LATENCY_POLL_TICKS;
+            PlayerListEntry entry = handler.getPlayerListEntry(client.player.getUuid());
+            if (entry != null) {
+                playerListLatencyMs = Math.max(0, entry.getLatency());
+                publishRoundTrip();
+            }
+        }
+
+        // A server that stopped sending time updates is running at most this fast
+        long now = System.currentTimeMillis();
+        if (lastWorldTimeMs > 0 && now - lastWorldTimeMs > STALE_MS) {
+            tps = Math.min(sampledTps, NOMINAL_TPS * 1000.0F / (now - lastWorldTimeMs));
+        }
+    }
+
+    /**
+     * Called on the client thread after a world time update was applied
+     */
+    public static void onWorldTimeUpdate(long worldTime, long nowMs) {
+        long elapsedMs = nowMs - lastWorldTimeMs;
+        long elapsedTicks = worldTime - lastWorldTime;
+        if (lastWorldTime < 0 || elapsedTicks <= 0 || elapsedMs > MAX_SAMPLE_MS) {
+            // First packet, or the clock jumped; start over from here
+            lastWorldTime = worldTime;
+            lastWorldTimeMs = nowMs;
+            tps = sampledTps;
+            return;
+        }
+        if (elapsedMs < MIN_SAMPLE_MS) {
+            // Packets bunched up by the network; wait for a longer baseline
+            return;
+        }
+
+        float sample = Math.min(NOMINAL_TPS, elapsedTicks * 1000.0F / elapsedMs);
+        sampledTps += (sample - sampledTps) * SMOOTHING;
+        tps = sampledTps;
+        lastWorldTime = worldTime;
+        lastWorldTimeMs = nowMs;
+    }
+
+    /**
+     * Called when a chat command was sent; the next game message times the round trip
+     */
+    public static void onCommandSent(long nowMs) {
+        pendingCommandMs = nowMs;
+    }
+
+    private static void onGameMessage(long nowMs) {
+        long sent = pendingCommandMs;
+        if (sent == 0) {
+            return;
+        }
+        pendingCommandMs = 0;
+
+        long sample = nowMs - sent;
+        if (sample < 0 || sample > COMMAND_RESPONSE_TIMEOUT_MS) {
+            return;
+        }
+        commandRoundTripMs = commandRoundTripMs == 0
+                ? sample
+                : commandRoundTripMs + (sample - commandRoundTripMs) * SMOOTHING;
+        publishRoundTrip();
+    }
+
+    private static void publishRoundTrip() {
+        roundTripMs = Math.max(playerListLatencyMs, Math.round(commandRoundTripMs));
+    }
+
+    public static void reset() {
+        sampledTps = NOMINAL_TPS;
+        tps = NOMINAL_TPS;
+        lastWorldTime = -1;
+        lastWorldTimeMs = 0;
+        playerListLatencyMs = 0;
+        commandRoundTripMs = 0;
+        pendingCommandMs = 0;
+        ticksUntilLatencyPoll = 0;
+        roundTripMs = 0;
+    }
+
+    /**
+     * Estimated server ticks per second, at most {@link #NOMINAL_TPS}
+     */
+    public static float getTps() {
+        return tps;
+    }
+
+    public static int getRoundTripMs() {
+        return roundTripMs;
+    }
+
+    /**
+     * How much longer server-side work takes than on a healthy server: 1 at 20 TPS, at most 4
+     */
+    public static float lagFactor(float tps) {
+        return NOMINAL_TPS / Math.max(MIN_TPS, Math.min(NOMINAL_TPS, tps));
+    }
+
+    /**
+     * Scale a delay tuned for a healthy server by the lag factor
+     */
+    public static long scale(long delayMs, float lagFactor) {
+        return (long) (delayMs * lagFactor);
+    }
+
+    /**
+     * Whole client ticks covering a round trip
+     */
+    public static int roundTripTicks(int roundTripMs) {
+        return (roundTripMs + 49) / 50;
+    }
+
+    public static String getSummary() {
+        return String.format("Server: %.1f TPS | RTT %dms", tps, roundTripMs);
+    }
+}
@@ -0,0 +1,25 @@
+package org.macro.cwrmacro.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("farmhand.Attack")
+@Label("TriggerBot Attack")
+@Category({"FarmHand", "TriggerBot"})
+@Description("A TriggerBot attack dispatch")
+@StackTrace(false)
+public class AttackEvent extends Event {
+    @Label("Target")
+    public String target;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Wasted")
+    @Description("Sent while the target was invulnerable or dying, or the previous swing never registered")
+    public boolean wasted;
+}
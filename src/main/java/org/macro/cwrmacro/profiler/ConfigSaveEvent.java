@@ -0,0 +1,21 @@
+package org.macro.cwrmacro.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("farmhand.ConfigSave")
+@Label("Config Save")
+@Category({"FarmHand", "Config"})
+@Description("A configuration write by the background config writer")
+public class ConfigSaveEvent extends Event {
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
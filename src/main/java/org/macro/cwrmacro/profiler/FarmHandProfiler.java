@@ -0,0 +1,82 @@
+package org.macro.cwrmacro.profiler;
+
+import jdk.jfr.EventType;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Always-on tick cost histograms plus JDK Flight Recorder events for FarmHand.
+ * <p>
+ * Histograms are updated on every module tick. JFR events are only allocated while a recording has them
+ * enabled; start one with {@code jcmd <pid> JFR.start} and look under the "FarmHand" category.
+ */
+public final class FarmHandProfiler {
+    private static final EventType MODULE_TICK = EventType.getEventType(ModuleTickEvent.class);
+    private static final EventType ATTACK = EventType.getEventType(AttackEvent.class);
+    private static final EventType SELL_STEP = EventType.getEventType(SellStepEvent.class);
+    private static final EventType CONFIG_SAVE = EventType.getEventType(ConfigSaveEvent.class);
+
+    private static final List<TickHistogram> HISTOGRAMS = new CopyOnWriteArrayList<>();
+
+    private FarmHandProfiler() {
+    }
+
+    /**
+     * Create a histogram that is listed in {@link #getHistograms()}
+     */
+    public static TickHistogram histogram(String name) {
+        TickHistogram histogram = new TickHistogram(name);
+        HISTOGRAMS.add(histogram);
+        return histogram;
+    }
+
+    public static List<TickHistogram> getHistograms() {
+        return HISTOGRAMS;
+    }
+
+    public static void resetHistograms() {
+        for (TickHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Begin a module tick event, or return null when no recording wants it
+     */
+    public static ModuleTickEvent beginModuleTick() {
+        if (!MODULE_TICK.isEnabled()) {
+            return null;
+        }
+        ModuleTickEvent event = new ModuleTickEvent();
+        event.begin();
+        return event;
+    }
+
+    public static AttackEvent beginAttack() {
+        if (!ATTACK.isEnabled()) {
+            return null;
+        }
+        AttackEvent event = new AttackEvent();
+        event.begin();
+        return event;
+    }
+
+    public static SellStepEvent beginSellStep() {
+        if (!SELL_STEP.isEnabled()) {
+            return null;
+        }
+        SellStepEvent event = new SellStepEvent();
+        event.begin();
+        return event;
+    }
+
+    public static ConfigSaveEvent beginConfigSave() {
+        if (!CONFIG_SAVE.isEnabled()) {
+            return null;
+        }
+        ConfigSaveEvent event = new ConfigSaveEvent();
+        event.begin();
+        return event;
+    }
+}
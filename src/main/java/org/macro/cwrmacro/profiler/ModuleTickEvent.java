@@ -0,0 +1,21 @@
+package org.macro.cwrmacro.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("farmhand.ModuleTick")
+@Label("Module Tick")
+@Category({"FarmHand", "Modules"})
+@Description("One tick of a FarmHand module on the client thread")
+@StackTrace(false)
+public class ModuleTickEvent extends Event {
+    @Label("Module")
+    public String module;
+
+    @Label("Failed")
+    public boolean failed;
+}
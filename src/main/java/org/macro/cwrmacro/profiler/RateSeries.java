@@ -0,0 +1,132 @@
+package org.macro.cwrmacro.profiler;
+
+import java.util.Arrays;
+
+/**
+ * Ring of per-second buckets over a fixed window, with a running window total and running sums for equal
+ * slices of the window.
+ * <p>
+ * Recording adds to the bucket of the current second and to its slice; moving into a new second clears the
+ * buckets that fell out of the window and subtracts them from the total and their slice, so the rolling
+ * average and every slice are read in constant time however long the window is. Slices are aligned to
+ * multiples of their length, so the newest one is still filling. There is a single writer (the client
+ * thread, which also renders the HUD); nothing locks or allocates after construction.
+ */
+public final class RateSeries {
+    private final String name;
+    private final double[] buckets;
+    private final int sliceSeconds;
+    // One more than the slice count, for the oldest slice while its seconds expire
+    private final double[] sliceSums;
+    private long headSecond = Long.MIN_VALUE;
+    private long firstSecond = Long.MIN_VALUE;
+    private double windowTotal = 0;
+
+    /**
+     * @param slices number of equal slices the window is split into; must divide {@code windowSeconds}
+     */
+    public RateSeries(String name, int windowSeconds, int slices) {
+        if (slices <= 0 || windowSeconds % slices != 0) {
+            throw new IllegalArgumentException(slices + " slices don't divide a " + windowSeconds + "s window");
+        }
+        this.name = name;
+        this.buckets = new double[windowSeconds];
+        this.sliceSeconds = windowSeconds / slices;
+        this.sliceSums = new double[slices + 1];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nowMs, double amount) {
+        advance(nowMs);
+        buckets[index(headSecond)] += amount;
+        sliceSums[sliceIndex(headSecond)] += amount;
+        windowTotal += amount;
+    }
+
+    /**
+     * Move the window forward to the second containing {@code nowMs}. Time going backwards is ignored.
+     */
+    public void advance(long nowMs) {
+        long second = Math.floorDiv(nowMs, 1000L);
+        if (headSecond == Long.MIN_VALUE) {
+            headSecond = second;
+            firstSecond = second;
+            return;
+        }
+        if (second <= headSecond) {
+            return;
+        }
+
+        if (second - headSecond >= buckets.length) {
+            Arrays.fill(buckets, 0);
+            Arrays.fill(sliceSums, 0);
+            windowTotal = 0;
+        } else {
+            for (long s = headSecond + 1; s <= second; s++) {
+                // The bucket still holds the second one window earlier
+                int i = index(s);
+                windowTotal -= buckets[i];
+                sliceSums[sliceIndex(s - buckets.length)] -= buckets[i];
+                buckets[i] = 0;
+                if (Math.floorMod(s, (long) sliceSeconds) == 0) {
+                    // A new slice reuses the entry of one that has fully expired
+                    sliceSums[sliceIndex(s)] = 0;
+                }
+            }
+        }
+        headSecond = second;
+    }
+
+    /**
+     * Average per second over the window, or over the time since the first sample while that is shorter
+     */
+    public double perSecond(long nowMs) {
+        advance(nowMs);
+        if (headSecond == Long.MIN_VALUE) {
+            return 0;
+        }
+        long covered = Math.min(buckets.length, headSecond - firstSecond + 1);
+        // Subtraction can leave a rounding residue once everything has expired
+        return Math.max(0, windowTotal) / covered;
+    }
+
+    /**
+     * Amount recorded in the slice {@code slicesAgo} slices before the one holding the current second, as of
+     * the last advance
+     */
+    public double slice(int slicesAgo) {
+        if (headSecond == Long.MIN_VALUE || slicesAgo < 0 || slicesAgo >= getSliceCount()) {
+            return 0;
+        }
+        long slice = Math.floorDiv(headSecond, sliceSeconds) - slicesAgo;
+        // Subtraction can leave a rounding residue once everything has expired
+        return Math.max(0, sliceSums[(int) Math.floorMod(slice, (long) sliceSums.length)]);
+    }
+
+    public int getWindowSeconds() {
+        return buckets.length;
+    }
+
+    public int getSliceCount() {
+        return sliceSums.length - 1;
+    }
+
+    public void reset() {
+        Arrays.fill(buckets, 0);
+        Arrays.fill(sliceSums, 0);
+        headSecond = Long.MIN_VALUE;
+        firstSecond = Long.MIN_VALUE;
+        windowTotal = 0;
+    }
+
+    private int index(long second) {
+        return (int) Math.floorMod(second, (long) buckets.length);
+    }
+
+    private int sliceIndex(long second) {
+        return (int) Math.floorMod(Math.floorDiv(second, sliceSeconds), (long) sliceSums.length);
+    }
+}
@@ -0,0 +1,30 @@
+package org.macro.cwrmacro.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("farmhand.SellStep")
+@Label("AutoSell Step")
+@Category({"FarmHand", "AutoSell"})
+@Description("One step of the AutoSell sequence")
+@StackTrace(false)
+public class SellStepEvent extends Event {
+    @Label("State")
+    public String state;
+
+    @Label("Slot")
+    public int slot;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Next State")
+    public String nextState;
+
+    @Label("Failure")
+    public String failure;
+}
@@ -0,0 +1,18 @@
+package org.macro.cwrmacro.profiler;
+
+/**
+ * Rolling rates shown in the HUD. Each window is long enough to smooth out the natural burstiness of its
+ * event: attacks come several per second, sales a few per minute.
+ */
+public final class Throughput {
+    // One slice per HUD sparkline column
+    public static final int SLICES = 30;
+
+    public static final RateSeries ATTACKS = new RateSeries("Attacks", 60, SLICES);
+    public static final RateSeries KILLS = new RateSeries("Kills", 300, SLICES);
+    public static final RateSeries SELLS = new RateSeries("Sells", 900, SLICES);
+    public static final RateSeries EARNINGS = new RateSeries("Earnings", 900, SLICES);
+
+    private Throughput() {
+    }
+}
@@ -0,0 +1,108 @@
+package org.macro.cwrmacro.profiler;
+
+/**
+ * Fixed-size histogram of durations in nanoseconds with power-of-two buckets.
+ * <p>
+ * Bucket {@code i} counts samples in {@code [2^(i-1), 2^i)} ns, so recording is a
+ * {@link Long#numberOfLeadingZeros} and an array increment. There is a single writer (the client thread);
+ * readers on other threads may see a sample half-recorded, which is fine for monitoring.
+ */
+public final class TickHistogram {
+    private static final int BUCKETS = 40; // Up to ~9 minutes
+
+    private final String name;
+    private final long[] buckets = new long[BUCKETS];
+    private volatile long count = 0;
+    private volatile long totalNanos = 0;
+    private volatile long maxNanos = 0;
+
+    public TickHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+        buckets[bucket]++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getMeanNanos() {
+        long n = count;
+        return n == 0 ? 0 : totalNanos / n;
+    }
+
+    public int getBucketCount() {
+        return BUCKETS;
+    }
+
+    /**
+     * Samples in bucket {@code i}; all but the last bucket hold durations below {@code 2^i} ns
+     */
+    public long getBucket(int i) {
+        return buckets[i];
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile
+     *
+     * @param percentile between 0 and 100
+     */
+    public long getPercentileNanos(double percentile) {
+        long n = count;
+        if (n == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(n * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : Math.min(maxNanos, (1L << i) - 1);
+            }
+        }
+        return maxNanos;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = 0;
+        }
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    public String getSummary() {
+        return String.format("%s: n=%d mean=%.1fus p50<=%.1fus p99<=%.1fus max=%.1fus",
+                name,
+                count,
+                getMeanNanos() / 1000.0,
+                getPercentileNanos(50) / 1000.0,
+                getPercentileNanos(99) / 1000.0,
+                maxNanos / 1000.0);
+    }
+}
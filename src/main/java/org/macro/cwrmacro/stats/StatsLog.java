@@ -0,0 +1,341 @@
+package org.macro.cwrmacro.stats;
+
+import org.macro.cwrmacro.CWRXPMactro;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * On-disk format of a per-server stats log: a 16 byte header followed by 48 byte records in
+ * {@code startMs} order.
+ * <p>
+ * Records are only ever appended, and compaction preserves their order, so a time range is found with a
+ * binary search and read sequentially through a small buffer. Nothing is memory-mapped: a mapping would
+ * keep the file locked on Windows until it is garbage collected, blocking compaction.
+ */
+final class StatsLog {
+    static final int MAGIC = 0x46485354; // "FHST"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 48;
+    static final long HOUR_MS = 3_600_000L;
+
+    // Records read or written per channel call
+    private static final int BATCH = 256;
+
+    private StatsLog() {
+    }
+
+    /**
+     * Open a log for appending, creating it if needed. A file with a foreign header is moved aside, and a
+     * partial record left by a crash is cut off.
+     */
+    static FileChannel openForAppend(Path file) throws IOException {
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() > 0 && recordCount(channel) < 0) {
+                channel.close();
+                Path backup = file.resolveSibling(file.getFileName() + ".bad");
+                Files.move(file, backup, StandardCopyOption.REPLACE_EXISTING);
+                CWRXPMactro.LOGGER.warn("Unrecognized stats log moved to {}", backup);
+                channel = FileChannel.open(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                writeHeader(header);
+                header.flip();
+                writeFully(channel, header, 0);
+            }
+
+            long end = HEADER_SIZE + recordCount(channel) * RECORD_SIZE;
+            if (channel.size() > end) {
+                channel.truncate(end);
+            }
+            channel.position(end);
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Append one record at the channel position
+     *
+     * @param buffer scratch buffer of at least {@link #RECORD_SIZE} bytes
+     */
+    static void append(FileChannel channel, ByteBuffer buffer, StatsRecord record) throws IOException {
+        buffer.clear();
+        put(buffer, record);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Merge raw records that start before {@code cutoffMs} into one record per hour and session,
+     * rewriting the file through a temporary copy
+     *
+     * @param cutoffMs should be on an hour boundary, so no hour is split between two compactions
+     * @return number of raw records merged away
+     */
+    static int compact(Path file, long cutoffMs) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int merged = 0;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long count = recordCount(in);
+            if (count < 0) {
+                return 0;
+            }
+            merged = copyCompacted(in, count, temp, cutoffMs);
+        }
+
+        if (merged == 0) {
+            Files.deleteIfExists(temp);
+            return 0;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return merged;
+    }
+
+    private static int copyCompacted(FileChannel in, long count, Path temp, long cutoffMs) throws IOException {
+        int merged = 0;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer input = ByteBuffer.allocate(RECORD_SIZE * BATCH);
+            ByteBuffer output = ByteBuffer.allocate(RECORD_SIZE * BATCH);
+            writeHeader(output);
+
+            Rollup rollup = new Rollup();
+            long position = HEADER_SIZE;
+            long remaining = count;
+            while (remaining > 0) {
+                int batch = (int) Math.min(BATCH, remaining);
+                readFully(in, input, position, batch * RECORD_SIZE);
+                for (int i = 0; i < batch; i++) {
+                    StatsRecord record = get(input);
+                    if (record.kind() == StatsRecord.RAW && record.startMs() < cutoffMs) {
+                        long hour = Math.floorDiv(record.startMs(), HOUR_MS) * HOUR_MS;
+                        if (rollup.active && (rollup.hour != hour || rollup.session != record.sessionMs())) {
+                            emit(out, output, rollup.finish());
+                        }
+                        rollup.add(hour, record);
+                        merged++;
+                    } else {
+                        if (rollup.active) {
+                            emit(out, output, rollup.finish());
+                        }
+                        emit(out, output, record);
+                    }
+                }
+                position += (long) batch * RECORD_SIZE;
+                remaining -= batch;
+            }
+            if (rollup.active) {
+                emit(out, output, rollup.finish());
+            }
+            output.flip();
+            while (output.hasRemaining()) {
+                out.write(output);
+            }
+            out.force(false);
+        }
+        return merged;
+    }
+
+    /**
+     * Add every record starting in {@code [fromMs, toMs)} to {@code totals}. Only the matching range is read.
+     */
+    static void aggregate(Path file, long fromMs, long toMs, StatsTotals totals) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long count = recordCount(channel);
+            if (count <= 0) {
+                return;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * BATCH);
+            long index = firstAtOrAfter(channel, buffer, count, fromMs);
+            while (index < count) {
+                int batch = (int) Math.min(BATCH, count - index);
+                readFully(channel, buffer, HEADER_SIZE + index * RECORD_SIZE, batch * RECORD_SIZE);
+                for (int i = 0; i < batch; i++) {
+                    StatsRecord record = get(buffer);
+                    if (record.startMs() >= toMs) {
+                        return;
+                    }
+                    totals.add(record.seconds(), record.attacks(), record.kills(), record.sells(),
+                            record.sellFailures(), record.earnings());
+                }
+                index += batch;
+            }
+        }
+    }
+
+    /**
+     * Index of the first record starting at or after {@code timeMs}, or {@code count} if there is none
+     */
+    private static long firstAtOrAfter(FileChannel channel, ByteBuffer buffer, long count, long timeMs)
+            throws IOException {
+        long low = 0;
+        long high = count;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            readFully(channel, buffer, HEADER_SIZE + mid * RECORD_SIZE, Long.BYTES);
+            if (buffer.getLong() < timeMs) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Number of whole records in the file, or -1 if the header is not ours
+     */
+    private static long recordCount(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            return -1;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != RECORD_SIZE) {
+            return -1;
+        }
+        return (size - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    private static void writeHeader(ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(RECORD_SIZE);
+        buffer.putInt(0);
+    }
+
+    private static void emit(FileChannel out, ByteBuffer output, StatsRecord record) throws IOException {
+        if (output.remaining() < RECORD_SIZE) {
+            output.flip();
+            while (output.hasRemaining()) {
+                out.write(output);
+            }
+            output.clear();
+        }
+        put(output, record);
+    }
+
+    private static void put(ByteBuffer buffer, StatsRecord record) {
+        buffer.putLong(record.startMs());
+        buffer.putLong(record.sessionMs());
+        buffer.putInt(record.seconds());
+        buffer.putInt(record.attacks());
+        buffer.putInt(record.kills());
+        buffer.putInt(record.sells());
+        buffer.putInt(record.sellFailures());
+        buffer.put(record.kind());
+        buffer.put((byte) 0);
+        buffer.putShort((short) 0);
+        buffer.putDouble(record.earnings());
+    }
+
+    private static StatsRecord get(ByteBuffer buffer) {
+        long startMs = buffer.getLong();
+        long sessionMs = buffer.getLong();
+        int seconds = buffer.getInt();
+        int attacks = buffer.getInt();
+        int kills = buffer.getInt();
+        int sells = buffer.getInt();
+        int sellFailures = buffer.getInt();
+        byte kind = buffer.get();
+        buffer.get();
+        buffer.getShort();
+        double earnings = buffer.getDouble();
+        return new StatsRecord(startMs, sessionMs, seconds, attacks, kills, sells, sellFailures, kind, earnings);
+    }
+
+    /**
+     * Read {@code length} bytes at {@code position} into the start of {@code buffer}, ready to be consumed
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, int length)
+            throws IOException {
+        buffer.clear();
+        buffer.limit(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of stats log");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Raw records of one hour and session being merged
+     */
+    private static final class Rollup {
+        boolean active = false;
+        long hour;
+        long session;
+        int seconds;
+        int attacks;
+        int kills;
+        int sells;
+        int sellFailures;
+        double earnings;
+
+        void add(long hour, StatsRecord record) {
+            if (!active) {
+                active = true;
+                this.hour = hour;
+                this.session = record.sessionMs();
+                seconds = 0;
+                attacks = 0;
+                kills = 0;
+                sells = 0;
+                sellFailures = 0;
+                earnings = 0;
+            }
+            seconds += record.seconds();
+            attacks += record.attacks();
+            kills += record.kills();
+            sells += record.sells();
+            sellFailures += record.sellFailures();
+            earnings += record.earnings();
+        }
+
+        StatsRecord finish() {
+            active = false;
+            return new StatsRecord(hour, session, seconds, attacks, kills, sells, sellFailures,
+                    StatsRecord.HOURLY, earnings);
+        }
+    }
+}
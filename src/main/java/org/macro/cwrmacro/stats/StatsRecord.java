@@ -0,0 +1,16 @@
+package org.macro.cwrmacro.stats;
+
+/**
+ * One fixed-width entry of a stats log: what happened on a server during {@code seconds} of play starting
+ * at {@code startMs}. Raw records cover about a minute; compaction merges old raw records of the same
+ * session into one record per hour.
+ */
+record StatsRecord(long startMs, long sessionMs, int seconds, int attacks, int kills, int sells,
+                   int sellFailures, byte kind, double earnings) {
+    static final byte RAW = 0;
+    static final byte HOURLY = 1;
+
+    boolean isEmpty() {
+        return attacks == 0 && kills == 0 && sells == 0 && sellFailures == 0 && earnings == 0;
+    }
+}
@@ -0,0 +1,302 @@
+package org.macro.cwrmacro.stats;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ServerInfo;
+import org.macro.cwrmacro.CWRXPMactro;
+import org.macro.cwrmacro.combat.KillTracker;
+import org.macro.cwrmacro.module.AutoSellModule;
+import org.macro.cwrmacro.module.TriggerBotModule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Persistent statistics, one append-only {@link StatsLog} per server address.
+ * <p>
+ * The module dispatcher drives the store: its sessions are the stats sessions, and once a minute its tick
+ * takes the difference of the in-memory module counters since the last sample and hands it to a
+ * background writer as one record, tagged with the time the session started. Idle minutes are not
+ * written. Raw records older than {@link #RAW_RETENTION_MS} are compacted into hourly rollups when a
+ * session starts on another server and every {@link #COMPACT_INTERVAL_MS} after that. All file access
+ * happens on the writer thread, so queries see every record handed over before them.
+ */
+public final class StatsStore {
+    private static final long PERIOD_MS = 60_000L;
+    private static final long RAW_RETENTION_MS = 48 * StatsLog.HOUR_MS;
+    private static final long COMPACT_INTERVAL_MS = 6 * StatsLog.HOUR_MS;
+    private static final String EXTENSION = ".bin";
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "FarmHand Stats Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Client thread only
+    private static Path sessionFile = null;
+    private static Path compactedFile = null;
+    private static long sessionStartMs = 0;
+    private static long periodStartMs = 0;
+    private static long lastCompactionMs = 0;
+    private static long lastAttacks = 0;
+    private static long lastKills = 0;
+    private static long lastSells = 0;
+    private static long lastSellFailures = 0;
+    private static double lastEarnings = 0;
+
+    // Writer thread only
+    private static Path openFile = null;
+    private static FileChannel channel = null;
+    private static final ByteBuffer RECORD_BUFFER = ByteBuffer.allocate(StatsLog.RECORD_SIZE);
+
+    private StatsStore() {
+    }
+
+    public static void register() {
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> shutdown());
+        CWRXPMactro.LOGGER.info("StatsStore registered successfully");
+    }
+
+    /**
+     * Called by the module dispatcher when a player enters a world, to sample the current server's log
+     */
+    public static void onSessionStart() {
+        if (EXECUTOR.isShutdown()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        endSession(now);
+        sessionFile = directory().resolve(serverKey(MinecraftClient.getInstance()) + EXTENSION);
+        sessionStartMs = now;
+        periodStartMs = now;
+        lastAttacks = TriggerBotModule.getAttackCount();
+        lastKills = KillTracker.getTotalKills();
+        lastSells = AutoSellModule.getSellCount();
+        lastSellFailures = AutoSellModule.getSellFailureCount();
+        lastEarnings = AutoSellModule.getTotalEarnings();
+
+        // Changing dimension starts a session on the same server, which doesn't need compacting again
+        if (!sessionFile.equals(compactedFile)) {
+            scheduleCompaction(now);
+        }
+    }
+
+    /**
+     * Called by the module dispatcher when the session ends, to write the last partial period
+     */
+    public static void onSessionEnd() {
+        endSession(System.currentTimeMillis());
+    }
+
+    /**
+     * Called by the module dispatcher on every tick in a session
+     */
+    public static void tick() {
+        if (sessionFile == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - periodStartMs >= PERIOD_MS) {
+            writePeriod(now);
+        }
+        if (now - lastCompactionMs >= COMPACT_INTERVAL_MS) {
+            scheduleCompaction(now);
+        }
+    }
+
+    private static void endSession(long now) {
+        if (sessionFile == null) {
+            return;
+        }
+        writePeriod(now);
+        EXECUTOR.execute(StatsStore::closeChannel);
+        sessionFile = null;
+    }
+
+    /**
+     * Hand the counter changes since the last period to the writer
+     */
+    private static void writePeriod(long now) {
+        long attacks = TriggerBotModule.getAttackCount();
+        long kills = KillTracker.getTotalKills();
+        long sells = AutoSellModule.getSellCount();
+        long sellFailures = AutoSellModule.getSellFailureCount();
+        double earnings = AutoSellModule.getTotalEarnings();
+
+        StatsRecord record = new StatsRecord(periodStartMs, sessionStartMs,
+                (int) ((now - periodStartMs) / 1000L),
+                (int) delta(attacks, lastAttacks),
+                (int) delta(kills, lastKills),
+                (int) delta(sells, lastSells),
+                (int) delta(sellFailures, lastSellFailures),
+                StatsRecord.RAW,
+                earnings >= lastEarnings ? earnings - lastEarnings : earnings);
+
+        periodStartMs = now;
+        lastAttacks = attacks;
+        lastKills = kills;
+        lastSells = sells;
+        lastSellFailures = sellFailures;
+        lastEarnings = earnings;
+
+        if (!record.isEmpty()) {
+            Path file = sessionFile;
+            EXECUTOR.execute(() -> append(file, record));
+        }
+    }
+
+    /**
+     * Counters only grow until they are reset to zero
+     */
+    private static long delta(long current, long last) {
+        return current >= last ? current - last : current;
+    }
+
+    private static void scheduleCompaction(long now) {
+        lastCompactionMs = now;
+        compactedFile = sessionFile;
+        Path file = sessionFile;
+        long cutoff = Math.floorDiv(now - RAW_RETENTION_MS, StatsLog.HOUR_MS) * StatsLog.HOUR_MS;
+        EXECUTOR.execute(() -> compact(file, cutoff));
+    }
+
+    /**
+     * Totals of this server's log over {@code [fromMs, toMs)}, delivered on the client thread.
+     * The callback receives null when not connected or when the log could not be read.
+     */
+    public static void queryCurrentServer(long fromMs, long toMs, Consumer<StatsTotals> callback) {
+        Path file = sessionFile;
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (file == null) {
+            callback.accept(null);
+            return;
+        }
+
+        EXECUTOR.execute(() -> {
+            StatsTotals totals = new StatsTotals();
+            try {
+                StatsLog.aggregate(file, fromMs, toMs, totals);
+            } catch (IOException e) {
+                CWRXPMactro.LOGGER.warn("Failed to read stats log {}", file, e);
+                totals = null;
+            }
+            StatsTotals result = totals;
+            client.execute(() -> callback.accept(result));
+        });
+    }
+
+    /**
+     * Read a server's totals on the calling thread. Records still queued for the writer are not included.
+     *
+     * @param serverKey one of {@link #getServerKeys()}
+     */
+    public static StatsTotals read(String serverKey, long fromMs, long toMs) throws IOException {
+        StatsTotals totals = new StatsTotals();
+        StatsLog.aggregate(directory().resolve(serverKey + EXTENSION), fromMs, toMs, totals);
+        return totals;
+    }
+
+    /**
+     * Servers with a stats log
+     */
+    public static List<String> getServerKeys() throws IOException {
+        List<String> keys = new ArrayList<>();
+        Path directory = directory();
+        if (!Files.isDirectory(directory)) {
+            return keys;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(EXTENSION))
+                    .map(name -> name.substring(0, name.length() - EXTENSION.length()))
+                    .sorted()
+                    .forEach(keys::add);
+        }
+        return keys;
+    }
+
+    /**
+     * Write the current period and wait briefly for the writer to finish
+     */
+    private static void shutdown() {
+        endSession(System.currentTimeMillis());
+        EXECUTOR.shutdown();
+        try {
+            if (!EXECUTOR.awaitTermination(2, TimeUnit.SECONDS)) {
+                CWRXPMactro.LOGGER.warn("Stats writer did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void append(Path file, StatsRecord record) {
+        try {
+            if (!file.equals(openFile)) {
+                closeChannel();
+                channel = StatsLog.openForAppend(file);
+                openFile = file;
+            }
+            StatsLog.append(channel, RECORD_BUFFER, record);
+        } catch (IOException e) {
+            CWRXPMactro.LOGGER.warn("Failed to write stats log {}", file, e);
+            closeChannel();
+        }
+    }
+
+    private static void compact(Path file, long cutoffMs) {
+        if (file.equals(openFile)) {
+            closeChannel();
+        }
+        try {
+            int merged = StatsLog.compact(file, cutoffMs);
+            if (merged > 0) {
+                CWRXPMactro.LOGGER.info("Compacted {} stats records in {}", merged, file.getFileName());
+            }
+        } catch (IOException e) {
+            CWRXPMactro.LOGGER.warn("Failed to compact stats log {}", file, e);
+        }
+    }
+
+    private static void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                CWRXPMactro.LOGGER.debug("Error closing stats log", e);
+            }
+        }
+        channel = null;
+        openFile = null;
+    }
+
+    private static Path directory() {
+        return FabricLoader.getInstance().getGameDir().resolve("farmhand").resolve("stats");
+    }
+
+    /**
+     * File-name-safe form of the server address, or "singleplayer"
+     */
+    private static String serverKey(MinecraftClient client) {
+        ServerInfo entry = client.getCurrentServerEntry();
+        if (entry == null || entry.address == null || entry.address.isBlank()) {
+            return client.isInSingleplayer() ? "singleplayer" : "unknown";
+        }
+        return entry.address.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "_");
+    }
+}
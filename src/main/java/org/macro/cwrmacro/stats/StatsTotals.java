@@ -0,0 +1,60 @@
+package org.macro.cwrmacro.stats;
+
+/**
+ * Sums over a range of stats records
+ */
+public final class StatsTotals {
+    private long records = 0;
+    private long seconds = 0;
+    private long attacks = 0;
+    private long kills = 0;
+    private long sells = 0;
+    private long sellFailures = 0;
+    private double earnings = 0;
+
+    void add(int seconds, int attacks, int kills, int sells, int sellFailures, double earnings) {
+        this.records++;
+        this.seconds += seconds;
+        this.attacks += attacks;
+        this.kills += kills;
+        this.sells += sells;
+        this.sellFailures += sellFailures;
+        this.earnings += earnings;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Play time covered by records with any activity
+     */
+    public long getSeconds() {
+        return seconds;
+    }
+
+    public long getAttacks() {
+        return attacks;
+    }
+
+    public long getKills() {
+        return kills;
+    }
+
+    public long getSells() {
+        return sells;
+    }
+
+    public long getSellFailures() {
+        return sellFailures;
+    }
+
+    public double getEarnings() {
+        return earnings;
+    }
+
+    public String getSummary() {
+        return String.format("%d kills, %d attacks, %d sold (%d failed), $%.2f over %.1fh",
+                kills, attacks, sells, sellFailures, earnings, seconds / 3600.0);
+    }
+}
@@ -0,0 +1,247 @@
+package org.macro.cwrmacro.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The literal prefilter must never hide a match: for every pattern and message, a rule fires through
+ * {@link ChatMatcher} exactly when {@link java.util.regex.Matcher#find()} on the bare regex succeeds.
+ */
+class ChatMatcherTest {
+    private static final List<String> ALTERNATION = List.of(
+            "(sell|buy) order",
+            "you (do not|don't) have",
+            "sold|bought",
+            "(?:Sold|Bought) for",
+            "^(?:\\[\\w+\\] )?sold");
+
+    private static final List<String> OPTIONAL = List.of(
+            "colou?r",
+            "(?:an? )?item sold",
+            "Sold( for)? \\$\\d+",
+            "items?\\b",
+            "cool{1,3}down",
+            "x*yz sold",
+            "sel+ing");
+
+    private static final List<String> CASE_INSENSITIVE = List.of(
+            "(?i)sold for",
+            "(?i)\\bcooldown\\b",
+            "(?i:SOLD) for",
+            "Sold (?i)FOR",
+            "(?iu)sell",
+            "(?i)(?x) sold \\s for");
+
+    private static final List<String> CHARACTER_CLASSES = List.of(
+            "[Ss]old for",
+            "price: [0-9]+",
+            "[^a-z]+ coins",
+            "[\\[\\]]tag",
+            "[a-z&&[^aeiou]]+ing sold",
+            "\\p{Lu}old for",
+            "\\p{Alpha}+ sold",
+            "\\d+ items? sold");
+
+    private static final List<String> ESCAPED = List.of(
+            "\\$\\d+\\.\\d{2}",
+            "a\\.b",
+            "1\\+1",
+            "\\(x\\)",
+            "\\[VIP\\] sold",
+            "cost\\?",
+            "C:\\\\path",
+            "\\Q$5.00\\E each",
+            "\\x24\\d+ each");
+
+    private static final List<String> MESSAGES = List.of(
+            "",
+            "Sold for $1,024.00 (64 items at $16.00 each).",
+            "SOLD FOR $3",
+            "sold for 3",
+            "Bought for $12.50",
+            "[VIP] sold 12 items",
+            "[VIP] Sold 1 item",
+            "An item sold",
+            "a item sold",
+            "item sold",
+            "You don't have anything to sell.",
+            "you do not have enough",
+            "You have 3 items",
+            "Sell order filled, buy order pending",
+            "colour color colr",
+            "COLOR",
+            "Cooldown: 3s",
+            "cooldowns apply",
+            "coolllldown cooldown",
+            "Please wait, selling is on COOLDOWN",
+            "\u017Fell everything",
+            "SELLING now",
+            "selling selllling seling",
+            "price: 12.50",
+            "price: none",
+            "1234 coins",
+            "abc coins",
+            "[tag] ]tag",
+            "strong selling sold",
+            "Sold sold sOLD for",
+            "Hold for now",
+            "xxyz sold yz sold",
+            "a.b a+b a b",
+            "1+1=2 11",
+            "call (x) now",
+            "cost? cost",
+            "C:\\path\\to",
+            "$5.00 each",
+            "$500 each",
+            "$12.34",
+            "\u00C9mile sold 3 items",
+            "\u00C9OLD FOR");
+
+    @Test
+    void alternationMatchesLikeRegex() {
+        assertSameAsRegex(ALTERNATION);
+    }
+
+    @Test
+    void optionalPartsMatchLikeRegex() {
+        assertSameAsRegex(OPTIONAL);
+    }
+
+    @Test
+    void caseInsensitiveMatchesLikeRegex() {
+        assertSameAsRegex(CASE_INSENSITIVE);
+    }
+
+    @Test
+    void characterClassesMatchLikeRegex() {
+        assertSameAsRegex(CHARACTER_CLASSES);
+    }
+
+    @Test
+    void escapedMetacharactersMatchLikeRegex() {
+        assertSameAsRegex(ESCAPED);
+    }
+
+    @Test
+    void allPatternsTogetherMatchLikeRegex() {
+        // One automaton over every literal, so overlapping literals share states and failure links
+        List<String> patterns = new ArrayList<>();
+        patterns.addAll(ALTERNATION);
+        patterns.addAll(OPTIONAL);
+        patterns.addAll(CASE_INSENSITIVE);
+        patterns.addAll(CHARACTER_CLASSES);
+        patterns.addAll(ESCAPED);
+        assertSameAsRegex(patterns);
+    }
+
+    @Test
+    void firstMatchingRuleWins() {
+        ChatMatcher<List<String>> matcher = new ChatMatcher<>();
+        matcher.register(this, List.of(
+                ChatRule.regex("(?i)cannot be sold", "failure"),
+                ChatRule.regex("Sold for \\$(?<amount>[\\d,.]+)", "success"),
+                ChatRule.literal("sold", "literal")), (fired, value, match) -> fired.add(value));
+
+        for (String message : MESSAGES) {
+            List<String> fired = new ArrayList<>();
+            matcher.process(fired, message);
+
+            String expected = null;
+            if (Pattern.compile("(?i)cannot be sold").matcher(message).find()) {
+                expected = "failure";
+            } else if (Pattern.compile("Sold for \\$(?<amount>[\\d,.]+)").matcher(message).find()) {
+                expected = "success";
+            } else if (message.toLowerCase().contains("sold")) {
+                expected = "literal";
+            }
+            assertEquals(expected == null ? List.of() : List.of(expected), fired, () -> "Message: " + message);
+        }
+    }
+
+    @Test
+    void requiredLiterals() {
+        assertEquals("Sold for $", ChatMatcher.requiredLiteral("Sold for \\$(?<amount>[\\d,.]+)"));
+        assertEquals("cooldown", ChatMatcher.requiredLiteral("(?i)\\bcooldown\\b"));
+        assertEquals(" have", ChatMatcher.requiredLiteral("you (do not|don't) have"));
+        assertEquals("colo", ChatMatcher.requiredLiteral("colou?r"));
+        assertEquals("down", ChatMatcher.requiredLiteral("cool{1,3}down"));
+        assertEquals("old for", ChatMatcher.requiredLiteral("[Ss]old for"));
+        assertEquals("old for", ChatMatcher.requiredLiteral("\\p{Lu}old for"));
+        assertEquals("[VIP] sold", ChatMatcher.requiredLiteral("\\[VIP\\] sold"));
+        assertEquals("price: ", ChatMatcher.requiredLiteral("price: [0-9]+"));
+        assertEquals("sel", ChatMatcher.requiredLiteral("sel+ing"));
+        assertEquals("C:\\path", ChatMatcher.requiredLiteral("C:\\\\path"));
+        assertEquals(" for", ChatMatcher.requiredLiteral("(?:Sold|Bought) for"));
+        assertEquals("a.b", ChatMatcher.requiredLiteral("a\\.b"));
+
+        // No usable literal: none is required, it is too short, or it can't be read off the pattern safely
+        assertNull(ChatMatcher.requiredLiteral("sold|bought"));
+        assertNull(ChatMatcher.requiredLiteral("(?i)(?x) sold \\s for"));
+        assertNull(ChatMatcher.requiredLiteral("\\Q$5.00\\E each"));
+        assertNull(ChatMatcher.requiredLiteral("\\x24\\d+ each"));
+        assertNull(ChatMatcher.requiredLiteral("(?!sold)\\w+ for"));
+        assertNull(ChatMatcher.requiredLiteral("a\\.?b"));
+    }
+
+    /**
+     * Register each pattern as its own owner and compare the owners called back for every message with
+     * the patterns whose regex is found in it
+     */
+    private static void assertSameAsRegex(List<String> patterns) {
+        ChatMatcher<Set<String>> matcher = new ChatMatcher<>();
+        for (String pattern : patterns) {
+            matcher.register(pattern, List.of(ChatRule.regex(pattern, pattern)),
+                    (fired, value, match) -> fired.add(value));
+        }
+
+        for (String message : MESSAGES) {
+            Set<String> expected = new LinkedHashSet<>();
+            for (String pattern : patterns) {
+                if (Pattern.compile(pattern).matcher(message).find()) {
+                    expected.add(pattern);
+                }
+            }
+
+            Set<String> fired = new LinkedHashSet<>();
+            boolean matched = matcher.process(fired, message);
+            assertEquals(expected, fired, () -> "Message: " + message);
+            assertEquals(!expected.isEmpty(), matched, () -> "Message: " + message);
+        }
+
+        for (String pattern : patterns) {
+            String literal = ChatMatcher.requiredLiteral(pattern);
+            if (literal == null) {
+                continue;
+            }
+            for (String message : MESSAGES) {
+                if (Pattern.compile(pattern).matcher(message).find()) {
+                    assertTrue(containsFolded(message, literal),
+                            () -> "Literal '" + literal + "' of " + pattern + " missing from: " + message);
+                }
+            }
+        }
+    }
+
+    private static boolean containsFolded(String text, String literal) {
+        for (int start = 0; start + literal.length() <= text.length(); start++) {
+            int i = 0;
+            while (i < literal.length()
+                    && LiteralAutomaton.fold(text.charAt(start + i)) == LiteralAutomaton.fold(literal.charAt(i))) {
+                i++;
+            }
+            if (i == literal.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
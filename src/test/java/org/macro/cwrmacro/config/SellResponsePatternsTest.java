@@ -0,0 +1,62 @@
+package org.macro.cwrmacro.config;
+
+import org.junit.jupiter.api.Test;
+import org.macro.cwrmacro.chat.ChatMatcher;
+import org.macro.cwrmacro.config.SellResponsePatterns.Outcome;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The default response patterns classify the usual economy plugin replies to {@code /sell hand}, and
+ * leave unrelated chat that shares a word with them alone.
+ */
+class SellResponsePatternsTest {
+    private static final FarmHandConfig DEFAULTS = new FarmHandConfig();
+
+    @Test
+    void sales() {
+        assertOutcome(Outcome.SOLD, "Sold for $640.00 (64 items at $10.00 each).");
+        assertOutcome(Outcome.SOLD, "You sold 64 diamonds.");
+    }
+
+    @Test
+    void refusals() {
+        assertOutcome(Outcome.FAILED, "That item cannot be sold to the server.");
+        assertOutcome(Outcome.FAILED, "You do not have enough of that item to sell.");
+        assertOutcome(Outcome.FAILED, "You don't have any items to sell!");
+        assertOutcome(Outcome.FAILED, "You have nothing that can be sold.");
+        assertOutcome(Outcome.FAILED, "You really tried to sell Air? Put an item in your hand.");
+    }
+
+    @Test
+    void cooldowns() {
+        assertOutcome(Outcome.COOLDOWN, "Please wait 3 seconds before selling again.");
+        assertOutcome(Outcome.COOLDOWN, "Sell is on cooldown for 5s");
+        assertOutcome(Outcome.COOLDOWN, "You are on cooldown for /sell");
+        assertOutcome(Outcome.COOLDOWN, "You are selling too fast!");
+    }
+
+    @Test
+    void unrelatedChat() {
+        assertOutcome(null, "Your /home cooldown is 10s");
+        assertOutcome(null, "Cooldown: 3s");
+        assertOutcome(null, "You don't have permission to fly.");
+        assertOutcome(null, "Wait for me before you go");
+        assertOutcome(null, "The seller's shop is on cooldown");
+        assertOutcome(null, "Slow down, you are typing too fast");
+    }
+
+    private static void assertOutcome(Outcome expected, String message) {
+        SellResponsePatterns patterns = SellResponsePatterns.compile(DEFAULTS.sellSuccessPatterns,
+                DEFAULTS.sellFailurePatterns, DEFAULTS.sellCooldownPatterns);
+        ChatMatcher<List<Outcome>> matcher = new ChatMatcher<>();
+        matcher.register(patterns, patterns.rules(), (outcomes, outcome, match) -> outcomes.add(outcome));
+
+        List<Outcome> outcomes = new ArrayList<>();
+        matcher.process(outcomes, message);
+        assertEquals(expected == null ? List.of() : List.of(expected), outcomes, () -> "Message: " + message);
+    }
+}
@@ -0,0 +1,143 @@
+package org.macro.cwrmacro.profiler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Drives a {@link RateSeries} with a fake clock across second, slice and ring wrap boundaries, and after
+ * every step compares the window average and every slice with a recount of everything recorded so far.
+ */
+class RateSeriesTest {
+    private static final int STEPS = 20_000;
+
+    @Test
+    void smallSteps() {
+        check(60, 30, 0L, 1_500L, 11L);
+        check(10, 5, 0L, 1_500L, 12L);
+        check(12, 4, 0L, 1_500L, 13L);
+    }
+
+    @Test
+    void sliceSizedSteps() {
+        // Steps land on and just around slice boundaries
+        check(60, 30, 0L, 4_100L, 21L);
+        check(12, 4, 0L, 6_100L, 22L);
+    }
+
+    @Test
+    void jumpsBeyondTheWindow() {
+        check(10, 5, 0L, 25_000L, 31L);
+        check(60, 30, 0L, 130_000L, 32L);
+    }
+
+    @Test
+    void oneSliceAndOneSecondSlices() {
+        check(30, 1, 0L, 3_000L, 41L);
+        check(5, 5, 0L, 2_000L, 42L);
+    }
+
+    @Test
+    void negativeTimes() {
+        // Floor division, not truncation, must place seconds before the epoch
+        check(10, 5, -47_300L, 1_500L, 51L);
+    }
+
+    @Test
+    void timeGoingBackwardsRecordsIntoTheCurrentSecond() {
+        RateSeries series = new RateSeries("test", 10, 5);
+        series.record(5_000L, 1);
+        series.record(4_000L, 2);
+        assertEquals(3, series.slice(0));
+
+        series.advance(5_999L);
+        assertEquals(3, series.slice(0));
+        series.advance(6_000L);
+        assertEquals(0, series.slice(0));
+        assertEquals(3, series.slice(1));
+    }
+
+    @Test
+    void slicesOutsideTheWindowAreEmpty() {
+        RateSeries series = new RateSeries("test", 10, 5);
+        assertEquals(0, series.slice(0));
+        assertEquals(0, series.perSecond(0L));
+
+        series.record(0L, 4);
+        assertEquals(0, series.slice(-1));
+        assertEquals(0, series.slice(5));
+        assertEquals(4, series.slice(0));
+
+        series.reset();
+        assertEquals(0, series.slice(0));
+        assertEquals(0, series.perSecond(0L));
+    }
+
+    @Test
+    void slicesMustDivideTheWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new RateSeries("test", 60, 7));
+        assertThrows(IllegalArgumentException.class, () -> new RateSeries("test", 60, 0));
+    }
+
+    /**
+     * Random walk of the clock, recording whole amounts so sums are exact, checked against a recount
+     *
+     * @param maxStepMs each step moves the clock forward by up to this much
+     */
+    private static void check(int windowSeconds, int slices, long startMs, long maxStepMs, long seed) {
+        RateSeries series = new RateSeries("test", windowSeconds, slices);
+        int sliceSeconds = windowSeconds / slices;
+        Random random = new Random(seed);
+        List<long[]> recorded = new ArrayList<>();
+        long firstSecond = Math.floorDiv(startMs, 1000L);
+
+        long nowMs = startMs;
+        for (int step = 0; step < STEPS; step++) {
+            if (step > 0) {
+                nowMs += random.nextLong(maxStepMs + 1);
+            }
+            long second = Math.floorDiv(nowMs, 1000L);
+            if (random.nextInt(4) == 0) {
+                series.advance(nowMs);
+            } else {
+                long amount = random.nextInt(10);
+                series.record(nowMs, amount);
+                recorded.add(new long[]{second, amount});
+            }
+
+            long headSlice = Math.floorDiv(second, sliceSeconds);
+            for (int slicesAgo = 0; slicesAgo < slices; slicesAgo++) {
+                long slice = headSlice - slicesAgo;
+                long expected = 0;
+                for (long[] entry : recorded) {
+                    if (Math.floorDiv(entry[0], sliceSeconds) == slice) {
+                        expected += entry[1];
+                    }
+                }
+                int ago = slicesAgo;
+                long at = nowMs;
+                assertEquals(expected, series.slice(slicesAgo), 1e-9,
+                        () -> "Slice " + ago + " ago at " + at + "ms, window " + windowSeconds + "s/" + slices);
+            }
+
+            long windowTotal = 0;
+            for (long[] entry : recorded) {
+                if (entry[0] > second - windowSeconds) {
+                    windowTotal += entry[1];
+                }
+            }
+            long covered = Math.min(windowSeconds, second - firstSecond + 1);
+            long at = nowMs;
+            assertEquals((double) windowTotal / covered, series.perSecond(nowMs), 1e-9,
+                    () -> "Average at " + at + "ms, window " + windowSeconds + "s/" + slices);
+
+            // Only the window is ever compared, so older entries can go
+            recorded.removeIf(entry -> entry[0] <= second - 2L * windowSeconds);
+        }
+    }
+}
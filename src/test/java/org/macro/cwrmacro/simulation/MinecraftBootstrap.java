@@ -0,0 +1,22 @@
+package org.macro.cwrmacro.simulation;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+
+/**
+ * Initializes the vanilla registries once per test or benchmark JVM, without starting a client
+ */
+public final class MinecraftBootstrap {
+    private static boolean initialized = false;
+
+    private MinecraftBootstrap() {
+    }
+
+    public static synchronized void ensureInitialized() {
+        if (!initialized) {
+            SharedConstants.createGameVersion();
+            Bootstrap.initialize();
+            initialized = true;
+        }
+    }
+}
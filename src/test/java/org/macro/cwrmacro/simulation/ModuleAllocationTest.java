@@ -0,0 +1,89 @@
+package org.macro.cwrmacro.simulation;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.config.FarmHandConfig;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Module ticks must not allocate once warmed up. Each test drives AutoSell and TriggerBot through the
+ * simulator, then measures the bytes the test thread allocates over a further run.
+ * <p>
+ * Rare events such as a reported error may still allocate, so the limit is an average below one byte per
+ * tick; a single object allocated on every tick would be at least sixteen.
+ */
+class ModuleAllocationTest {
+    private static final long WARMUP_TICKS = 50_000L;
+    private static final long MEASURED_TICKS = 20_000L;
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @BeforeAll
+    static void bootstrap() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation accounting is unavailable");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        MinecraftBootstrap.ensureInitialized();
+    }
+
+    @Test
+    void idleTicksDoNotAllocate() {
+        // Nothing in the simulated world is configured, so the modules only watch
+        FarmHandConfig config = baseConfig();
+        config.autoSellItemIds = List.of("minecraft:nether_star");
+        config.triggerBotEntityIds = List.of("minecraft:creeper");
+        assertNoAllocation("Idle", ConfigSnapshot.of(config));
+    }
+
+    @Test
+    void farmingTicksDoNotAllocate() {
+        assertNoAllocation("Farming", ConfigSnapshot.of(baseConfig()));
+    }
+
+    @Test
+    void refusedSalesDoNotAllocate() {
+        // Every sale is answered with a refusal, so AutoSell keeps failing and reporting the same error
+        FarmHandConfig config = baseConfig();
+        config.sellSuccessPatterns = List.of();
+        config.sellFailurePatterns = List.of("^Sold for");
+        assertNoAllocation("Refused sales", ConfigSnapshot.of(config));
+    }
+
+    private static void assertNoAllocation(String name, ConfigSnapshot config) {
+        ModuleSimulator simulator = new ModuleSimulator(config, 7L);
+        try {
+            simulator.run(WARMUP_TICKS);
+
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            SimulationResult result = simulator.run(MEASURED_TICKS);
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+
+            System.out.println(name + ": " + allocated + " bytes over " + MEASURED_TICKS + " ticks | "
+                    + result.getSummary());
+            assertTrue(allocated < MEASURED_TICKS,
+                    () -> name + " allocated " + allocated + " bytes over " + MEASURED_TICKS + " ticks");
+        } finally {
+            simulator.endSession();
+        }
+    }
+
+    private static FarmHandConfig baseConfig() {
+        FarmHandConfig config = new FarmHandConfig();
+        config.enabled = true;
+        config.autoSellEnabled = true;
+        config.autoSellItemIds = List.of("minecraft:diamond", "minecraft:emerald");
+        config.triggerBotEnabled = true;
+        config.triggerBotEntityIds = List.of("minecraft:zombie");
+        config.triggerBotSpeed = 0;
+        config.inventoryThreshold = 20;
+        config.enableLogging = false;
+        config.enableSounds = false;
+        return config;
+    }
+}
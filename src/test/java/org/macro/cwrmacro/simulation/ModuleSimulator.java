@@ -0,0 +1,223 @@
+package org.macro.cwrmacro.simulation;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.module.AutoSellModule;
+import org.macro.cwrmacro.module.Module;
+import org.macro.cwrmacro.module.TickContext;
+import org.macro.cwrmacro.module.TriggerBotModule;
+import org.macro.cwrmacro.profiler.TickHistogram;
+
+import java.util.SplittableRandom;
+
+/**
+ * Drives {@link AutoSellModule} and {@link TriggerBotModule} through synthetic ticks on a
+ * {@link SimulatedGame}.
+ * <p>
+ * Each tick advances the clock by 50ms, lets the world change (items picked up, cooldown recovering, entities
+ * walking through the crosshair, recovering from hits, dying and despawning), then publishes server messages
+ * and crosshair changes and ticks the active modules the same way {@code ModuleDispatcher} does. Module tick
+ * time is recorded in a histogram and correctness problems are counted by the game. Repeated runs continue
+ * the same session until {@link #endSession()}.
+ */
+public final class ModuleSimulator {
+    private static final long TICK_MS = 50;
+
+    // Module state is static, so every simulator continues the clock where the previous one stopped
+    private static long nextStartTimeMs = 1_000_000_000L;
+
+    private static final Item[] SELL_ITEMS = {Items.DIAMOND, Items.EMERALD};
+    private static final Item[] JUNK_ITEMS = {Items.WHEAT, Items.COBBLESTONE, Items.ROTTEN_FLESH};
+
+    private final ConfigSnapshot config;
+    private final SimulatedGame game;
+    private final TickContext context;
+    private final SplittableRandom random;
+    private final Module[] modules = {AutoSellModule.INSTANCE, TriggerBotModule.INSTANCE};
+    private final boolean[] active = new boolean[modules.length];
+    private final int targetType;
+    private final int otherType;
+
+    private final TickHistogram tickHistogram = new TickHistogram("Simulated tick");
+    private long ticks;
+    private int sequenceStartSlot = -1;
+    private boolean wasSelling;
+    private int crosshairTarget = -1;
+
+    public ModuleSimulator(ConfigSnapshot config, long seed) {
+        this.config = config;
+        this.game = new SimulatedGame(config, nextStartTimeMs);
+        this.context = new TickContext(game);
+        this.random = new SplittableRandom(seed);
+        this.targetType = Registries.ENTITY_TYPE.getRawId(EntityType.ZOMBIE);
+        this.otherType = Registries.ENTITY_TYPE.getRawId(EntityType.PIG);
+
+        for (Module module : modules) {
+            module.onSessionStart(context);
+        }
+    }
+
+    public SimulationResult run(long tickCount) {
+        long start = System.nanoTime();
+        for (long i = 0; i < tickCount; i++) {
+            stepWorld();
+            int slotBefore = game.selectedSlot;
+            long tickStart = System.nanoTime();
+            tickModules();
+            tickHistogram.record(System.nanoTime() - tickStart);
+            checkSlotRestored(slotBefore);
+        }
+        long elapsed = System.nanoTime() - start;
+        nextStartTimeMs = Math.max(nextStartTimeMs, game.timeMs + TICK_MS);
+
+        return new SimulationResult(tickCount, elapsed, tickHistogram, game.sellCommands, game.attacks,
+                game.kills, game.violations, game.firstViolation);
+    }
+
+    /**
+     * Leave the world, as a disconnect would; modules drop any in-flight work
+     */
+    public void endSession() {
+        game.inGame = false;
+        game.pendingMessage = null;
+        for (int i = 0; i < modules.length; i++) {
+            modules[i].onSessionEnd(context);
+            active[i] = false;
+        }
+        crosshairTarget = -1;
+    }
+
+    private void stepWorld() {
+        game.advanceTime(TICK_MS);
+
+        // The cooldown charges once per player tick
+        game.ticksSinceAttack++;
+
+        // Pick up an item now and then; a few of them land in the hotbar as sell items
+        if (random.nextInt(8) == 0) {
+            int slot = random.nextInt(SimulatedGame.MAIN_SLOTS);
+            if ((game.occupiedMask & (1L << slot)) == 0) {
+                Item[] pool = slot < SimulatedGame.HOTBAR_SLOTS && random.nextInt(3) == 0 ? SELL_ITEMS : JUNK_ITEMS;
+                game.setSlot(slot, pool[random.nextInt(pool.length)]);
+            }
+        }
+
+        // ...and uses or drops something
+        if (random.nextInt(10) == 0) {
+            game.setSlot(random.nextInt(SimulatedGame.MAIN_SLOTS), null);
+        }
+
+        // The player occasionally scrolls the hotbar
+        if (!AutoSellModule.isProcessing() && random.nextInt(200) == 0) {
+            game.selectedSlot = random.nextInt(SimulatedGame.HOTBAR_SLOTS);
+        }
+
+        // Hurt and death animations run down; dead entities are removed when theirs ends
+        for (int id = 0; id < SimulatedGame.MAX_ENTITIES; id++) {
+            if (!game.entityLoaded[id]) {
+                continue;
+            }
+            if (game.entityHurtTime[id] > 0) {
+                game.entityHurtTime[id]--;
+            }
+            if (game.entityHealth[id] == 0 && ++game.entityDeathTime[id] >= SimulatedGame.DEATH_TICKS) {
+                game.unload(id);
+            }
+        }
+
+        // Entities wander through the crosshair and sometimes despawn
+        if (random.nextInt(20) == 0) {
+            if (random.nextInt(3) == 0) {
+                game.crosshairTarget = -1;
+            } else {
+                int id = random.nextInt(SimulatedGame.MAX_ENTITIES);
+                if (!game.entityLoaded[id]) {
+                    game.spawn(id, random.nextInt(4) == 0 ? otherType : targetType);
+                }
+                game.crosshairTarget = id;
+            }
+        }
+        int target = game.crosshairTarget;
+        if (target >= 0 && random.nextInt(200) == 0) {
+            game.unload(target);
+        }
+    }
+
+    private void tickModules() {
+        publishMessage();
+        publishCrosshair();
+
+        ticks++;
+        context.update(config, ticks);
+        for (int i = 0; i < modules.length; i++) {
+            Module module = modules[i];
+            boolean nowActive = module.isActive(config);
+            if (nowActive != active[i]) {
+                active[i] = nowActive;
+                if (nowActive) {
+                    module.onEnable(context);
+                } else {
+                    module.onDisable(context);
+                }
+            }
+            if (nowActive) {
+                module.tick(context);
+            }
+        }
+    }
+
+    /**
+     * Deliver the game's answer to a command once its round trip has passed
+     */
+    private void publishMessage() {
+        String message = game.pendingMessage;
+        if (message == null || game.timeMs < game.pendingMessageDueMs) {
+            return;
+        }
+        game.pendingMessage = null;
+
+        context.update(config, ticks);
+        context.chat().process(context, message);
+    }
+
+    /**
+     * Deliver target events for crosshair changes made by {@link #stepWorld()} to the active modules
+     */
+    private void publishCrosshair() {
+        int target = game.crosshairTarget;
+        if (target == crosshairTarget) {
+            return;
+        }
+        int previous = crosshairTarget;
+        crosshairTarget = target;
+
+        context.update(config, ticks);
+        for (int i = 0; i < modules.length; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            if (previous >= 0) {
+                modules[i].onTargetLost(context, previous);
+            }
+            if (target >= 0) {
+                modules[i].onTargetAcquired(context, target);
+            }
+        }
+    }
+
+    /**
+     * A finished sell sequence must leave the player on the slot they had selected before it
+     */
+    private void checkSlotRestored(int slotBefore) {
+        boolean selling = AutoSellModule.isProcessing();
+        if (selling && !wasSelling) {
+            sequenceStartSlot = slotBefore;
+        } else if (!selling && wasSelling && game.selectedSlot != sequenceStartSlot) {
+            game.violation("Slot not restored: " + game.selectedSlot + " != " + sequenceStartSlot);
+        }
+        wasSelling = selling;
+    }
+}
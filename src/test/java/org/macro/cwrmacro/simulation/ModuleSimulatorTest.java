@@ -0,0 +1,67 @@
+package org.macro.cwrmacro.simulation;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.config.FarmHandConfig;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs AutoSell and TriggerBot through the simulator in a few configurations and fails on any action a
+ * server would reject or a player would notice. Throughput, tick latency and action counts are printed.
+ * <p>
+ * The tick count comes from the {@code farmhand.simTicks} system property, set from {@code -PsimTicks}.
+ */
+class ModuleSimulatorTest {
+    private static final long TICKS = Long.getLong("farmhand.simTicks", 200_000L);
+
+    @BeforeAll
+    static void bootstrap() {
+        MinecraftBootstrap.ensureInitialized();
+    }
+
+    @Test
+    void instantAttacks() {
+        run("Instant attacks", config(0, 20));
+    }
+
+    @Test
+    void delayedAttacks() {
+        run("Delayed attacks", config(250, 20));
+    }
+
+    @Test
+    void fullInventoryThreshold() {
+        run("Full inventory threshold", config(0, 36));
+    }
+
+    private static void run(String name, ConfigSnapshot config) {
+        ModuleSimulator simulator = new ModuleSimulator(config, 42L);
+        SimulationResult result;
+        try {
+            result = simulator.run(TICKS);
+        } finally {
+            simulator.endSession();
+        }
+        System.out.println(name + ": " + result.getSummary());
+        assertTrue(result.isCorrect(), () -> name + ": " + result.violations() + " violations, first: "
+                + result.firstViolation());
+    }
+
+    static ConfigSnapshot config(int triggerBotSpeed, int inventoryThreshold) {
+        FarmHandConfig config = new FarmHandConfig();
+        config.enabled = true;
+        config.autoSellEnabled = true;
+        config.autoSellItemIds = List.of("minecraft:diamond", "minecraft:emerald");
+        config.triggerBotEnabled = true;
+        config.triggerBotEntityIds = List.of("minecraft:zombie");
+        config.triggerBotSpeed = triggerBotSpeed;
+        config.inventoryThreshold = inventoryThreshold;
+        config.enableLogging = false;
+        config.enableSounds = false;
+        return ConfigSnapshot.of(config);
+    }
+}
@@ -0,0 +1,251 @@
+package org.macro.cwrmacro.simulation;
+
+import net.minecraft.item.Item;
+import org.macro.cwrmacro.config.ConfigSnapshot;
+import org.macro.cwrmacro.env.GameEnvironment;
+
+/**
+ * {@link GameEnvironment} made of plain fields and a synthetic clock.
+ * <p>
+ * It plays a minimal server: {@code /sell hand} empties the selected hotbar slot, an attack or a change of
+ * held item resets the cooldown, and entities take three hits to kill with a vanilla-like hurt animation and
+ * death animation. Sales are answered with a chat message one round trip later. Every action is checked
+ * against the configuration, and anything a real server would reject or a player would notice is
+ * counted as a violation.
+ */
+public final class SimulatedGame implements GameEnvironment {
+    public static final int MAIN_SLOTS = 36;
+    public static final int HOTBAR_SLOTS = 9;
+    public static final int MAX_ENTITIES = 64;
+    public static final float ENTITY_HEALTH = 20.0F;
+    public static final float ATTACK_DAMAGE = 7.0F;
+    public static final int HURT_TICKS = 10;
+    public static final int DEATH_TICKS = 20;
+
+    private final ConfigSnapshot config;
+
+    long timeMs;
+    boolean inGame = true;
+
+    // Inventory
+    final Item[] hotbar = new Item[HOTBAR_SLOTS];
+    long occupiedMask;
+    long inventoryVersion;
+    int selectedSlot;
+
+    // Combat
+    // 1.6 attacks per second, the vanilla default with an empty hand
+    float cooldownTicks = 12.5F;
+    int ticksSinceAttack = 100;
+    int crosshairTarget = -1;
+    final int[] entityTypes = new int[MAX_ENTITIES];
+    final boolean[] entityLoaded = new boolean[MAX_ENTITIES];
+    final float[] entityHealth = new float[MAX_ENTITIES];
+    final int[] entityHurtTime = new int[MAX_ENTITIES];
+    final int[] entityDeathTime = new int[MAX_ENTITIES];
+
+    // Server
+    float serverTps = 20.0F;
+    int roundTripMs = 50;
+    String pendingMessage;
+    long pendingMessageDueMs;
+
+    // Outcomes
+    long sellCommands;
+    long attacks;
+    long kills;
+    long violations;
+    String firstViolation;
+
+    SimulatedGame(ConfigSnapshot config, long startTimeMs) {
+        this.config = config;
+        this.timeMs = startTimeMs;
+    }
+
+    /**
+     * Move the clock
+     */
+    void advanceTime(long ms) {
+        timeMs += ms;
+    }
+
+    void setSlot(int slot, Item item) {
+        long bit = 1L << slot;
+        long mask = item == null ? occupiedMask & ~bit : occupiedMask | bit;
+        if (slot < HOTBAR_SLOTS) {
+            hotbar[slot] = item;
+        }
+        if (mask != occupiedMask) {
+            occupiedMask = mask;
+            inventoryVersion++;
+        }
+    }
+
+    void spawn(int id, int type) {
+        entityTypes[id] = type;
+        entityLoaded[id] = true;
+        entityHealth[id] = ENTITY_HEALTH;
+        entityHurtTime[id] = 0;
+        entityDeathTime[id] = 0;
+    }
+
+    void unload(int id) {
+        entityLoaded[id] = false;
+        if (crosshairTarget == id) {
+            crosshairTarget = -1;
+        }
+    }
+
+    void violation(String message) {
+        violations++;
+        if (firstViolation == null) {
+            firstViolation = "t=" + timeMs + " " + message;
+        }
+    }
+
+    @Override
+    public boolean isInGame() {
+        return inGame;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return timeMs;
+    }
+
+    @Override
+    public int getSelectedSlot() {
+        return selectedSlot;
+    }
+
+    @Override
+    public void setSelectedSlot(int slot) {
+        if (slot < 0 || slot >= HOTBAR_SLOTS) {
+            violation("Selected invalid slot " + slot);
+            return;
+        }
+        if (hotbar[slot] != hotbar[selectedSlot]) {
+            // Switching held item resets the cooldown, as in vanilla
+            ticksSinceAttack = 0;
+        }
+        selectedSlot = slot;
+    }
+
+    @Override
+    public Item getHotbarItem(int slot) {
+        return hotbar[slot];
+    }
+
+    @Override
+    public int getFilledSlotCount() {
+        return Long.bitCount(occupiedMask);
+    }
+
+    @Override
+    public long getInventoryVersion() {
+        return inventoryVersion;
+    }
+
+    @Override
+    public float getAttackCooldownTicks() {
+        return cooldownTicks;
+    }
+
+    @Override
+    public int getTicksSinceAttack() {
+        return ticksSinceAttack;
+    }
+
+    float getCooldownProgress() {
+        return Math.min(1.0F, (ticksSinceAttack + 0.5F) / cooldownTicks);
+    }
+
+    @Override
+    public int getCrosshairTarget() {
+        return crosshairTarget;
+    }
+
+    @Override
+    public int getTargetTypeRawId(int entityId) {
+        return entityId >= 0 && entityId < MAX_ENTITIES ? entityTypes[entityId] : -1;
+    }
+
+    @Override
+    public boolean isTargetAlive(int entityId) {
+        return entityId >= 0 && entityId < MAX_ENTITIES && entityLoaded[entityId] && entityHealth[entityId] > 0;
+    }
+
+    @Override
+    public float getTargetHealth(int entityId) {
+        return entityId >= 0 && entityId < MAX_ENTITIES && entityLoaded[entityId] ? entityHealth[entityId] : -1;
+    }
+
+    @Override
+    public int getTargetHurtTime(int entityId) {
+        return entityId >= 0 && entityId < MAX_ENTITIES && entityLoaded[entityId] ? entityHurtTime[entityId] : 0;
+    }
+
+    @Override
+    public boolean attack(int entityId) {
+        if (!isTargetAlive(entityId)) {
+            violation("Attacked dead entity " + entityId);
+            return false;
+        }
+        if (!config.targets.matchesRawId(entityTypes[entityId])) {
+            violation("Attacked non-target entity type " + entityTypes[entityId]);
+        }
+        if (config.triggerBotSpeed > 0 && getCooldownProgress() < 1.0F) {
+            violation("Attacked with cooldown at " + getCooldownProgress());
+        }
+
+        if (entityHurtTime[entityId] > 0) {
+            violation("Wasted swing on invulnerable entity " + entityId);
+        }
+
+        attacks++;
+        ticksSinceAttack = 0;
+        if (entityHurtTime[entityId] == 0) {
+            entityHurtTime[entityId] = HURT_TICKS;
+            entityHealth[entityId] = Math.max(0.0F, entityHealth[entityId] - ATTACK_DAMAGE);
+            if (entityHealth[entityId] == 0) {
+                kills++;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean sendCommand(String command) {
+        if (!"sell hand".equals(command)) {
+            violation("Unexpected command /" + command);
+            return true;
+        }
+
+        if (pendingMessage != null) {
+            violation("Sent /sell hand before the previous one was answered");
+        }
+
+        Item held = hotbar[selectedSlot];
+        pendingMessageDueMs = timeMs + roundTripMs;
+        if (held == null || !config.sellItems.matches(held)) {
+            violation("Sold from slot " + selectedSlot + " holding " + held);
+            pendingMessage = "That item cannot be sold to the server.";
+            return true;
+        }
+
+        sellCommands++;
+        setSlot(selectedSlot, null);
+        pendingMessage = "Sold for $640.00 (64 items at $10.00 each).";
+        return true;
+    }
+
+    @Override
+    public float getServerTps() {
+        return serverTps;
+    }
+
+    @Override
+    public int getRoundTripMs() {
+        return roundTripMs;
+    }
+}
@@ -0,0 +1,31 @@
+package org.macro.cwrmacro.simulation;
+
+import org.macro.cwrmacro.profiler.TickHistogram;
+
+/**
+ * Outcome of a {@link ModuleSimulator} run
+ */
+public record SimulationResult(long ticks, long elapsedNanos, TickHistogram tickTimes, long sellCommands,
+                               long attacks, long kills, long violations, String firstViolation) {
+
+    public double ticksPerSecond() {
+        return elapsedNanos == 0 ? 0 : ticks * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public boolean isCorrect() {
+        return violations == 0;
+    }
+
+    public String getSummary() {
+        return String.format("%,d ticks in %.1fms (%,.0f ticks/s) | sells=%d attacks=%d kills=%d violations=%d%s%n  %s",
+                ticks,
+                elapsedNanos / 1_000_000.0,
+                ticksPerSecond(),
+                sellCommands,
+                attacks,
+                kills,
+                violations,
+                firstViolation != null ? " first: " + firstViolation : "",
+                tickTimes.getSummary());
+    }
+}
@@ -0,0 +1,203 @@
+package org.macro.cwrmacro.stats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips through the on-disk log: appending, hourly compaction and range queries over a mix of raw
+ * records and rollups, checked against sums over the records that were written
+ */
+class StatsLogTest {
+    private static final long MINUTE_MS = 60_000L;
+    private static final long HOUR_MS = StatsLog.HOUR_MS;
+    private static final long START_MS = 1_000 * HOUR_MS;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void aggregatesRawRecords() throws IOException {
+        Path file = directory.resolve("server.bin");
+        List<StatsRecord> records = minutes(START_MS, 0, 90);
+        write(file, records);
+
+        assertTotals(records, file, START_MS, START_MS + 3 * HOUR_MS);
+        assertTotals(records, file, START_MS + 10 * MINUTE_MS, START_MS + 45 * MINUTE_MS);
+        assertTotals(records, file, START_MS - HOUR_MS, START_MS);
+        assertTotals(records, file, START_MS + 89 * MINUTE_MS, START_MS + 91 * MINUTE_MS);
+    }
+
+    @Test
+    void compactsOldRawRecordsIntoHourlyRollups() throws IOException {
+        Path file = directory.resolve("server.bin");
+        // Three hours of one session, with a second session starting halfway through the first hour
+        List<StatsRecord> records = new ArrayList<>();
+        records.addAll(minutes(START_MS, 0, 30));
+        records.addAll(minutes(START_MS + 30 * MINUTE_MS, 30, 180));
+        write(file, records);
+
+        long cutoff = START_MS + 2 * HOUR_MS;
+        int merged = StatsLog.compact(file, cutoff);
+        assertEquals(120, merged);
+
+        // Rollups for hour 0 (two sessions) and hour 1, then the 60 raw records of hour 2
+        StatsTotals all = new StatsTotals();
+        StatsLog.aggregate(file, Long.MIN_VALUE, Long.MAX_VALUE, all);
+        assertEquals(3 + 60, all.getRecords());
+        assertSameSums(sum(records, Long.MIN_VALUE, Long.MAX_VALUE), all);
+
+        // Ranges on hour boundaries see the same sums as before compaction, across rollups and raw records
+        assertSums(records, file, START_MS + HOUR_MS, cutoff + 15 * MINUTE_MS);
+        assertSums(records, file, START_MS, START_MS + HOUR_MS);
+        assertSums(records, file, cutoff, cutoff + HOUR_MS);
+
+        // A rollup counts at the start of its hour
+        StatsTotals midHour = new StatsTotals();
+        StatsLog.aggregate(file, START_MS + 10 * MINUTE_MS, START_MS + HOUR_MS, midHour);
+        assertEquals(0, midHour.getRecords());
+    }
+
+    @Test
+    void compactionIsIdempotent() throws IOException {
+        Path file = directory.resolve("server.bin");
+        write(file, minutes(START_MS, 0, 150));
+
+        long cutoff = START_MS + 2 * HOUR_MS;
+        assertEquals(120, StatsLog.compact(file, cutoff));
+        byte[] compacted = Files.readAllBytes(file);
+
+        assertEquals(0, StatsLog.compact(file, cutoff));
+        assertArrayEquals(compacted, Files.readAllBytes(file));
+        assertTrue(Files.notExists(file.resolveSibling("server.bin.tmp")));
+    }
+
+    @Test
+    void appendsAfterCompaction() throws IOException {
+        Path file = directory.resolve("server.bin");
+        List<StatsRecord> records = new ArrayList<>(minutes(START_MS, 0, 120));
+        write(file, records);
+        StatsLog.compact(file, START_MS + HOUR_MS);
+
+        List<StatsRecord> later = minutes(START_MS, 120, 150);
+        write(file, later);
+        records.addAll(later);
+
+        assertSums(records, file, START_MS, START_MS + 3 * HOUR_MS);
+        assertTotals(records, file, START_MS + HOUR_MS, START_MS + 3 * HOUR_MS);
+    }
+
+    @Test
+    void cutsOffPartialRecordOnOpen() throws IOException {
+        Path file = directory.resolve("server.bin");
+        List<StatsRecord> records = new ArrayList<>(minutes(START_MS, 0, 2));
+        write(file, records);
+        Files.write(file, new byte[StatsLog.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+        List<StatsRecord> later = minutes(START_MS, 2, 3);
+        write(file, later);
+        records.addAll(later);
+
+        assertEquals(StatsLog.HEADER_SIZE + 3L * StatsLog.RECORD_SIZE, Files.size(file));
+        assertTotals(records, file, START_MS, START_MS + HOUR_MS);
+    }
+
+    @Test
+    void movesForeignFileAside() throws IOException {
+        Path file = directory.resolve("server.bin");
+        Files.write(file, "not a stats log at all".getBytes());
+
+        List<StatsRecord> records = minutes(START_MS, 0, 5);
+        write(file, records);
+
+        assertTrue(Files.exists(file.resolveSibling("server.bin.bad")));
+        assertTotals(records, file, START_MS, START_MS + HOUR_MS);
+    }
+
+    @Test
+    void missingFileHasNoRecords() throws IOException {
+        Path file = directory.resolve("missing.bin");
+        StatsTotals totals = new StatsTotals();
+        StatsLog.aggregate(file, Long.MIN_VALUE, Long.MAX_VALUE, totals);
+        assertEquals(0, totals.getRecords());
+        assertEquals(0, StatsLog.compact(file, START_MS));
+    }
+
+    /**
+     * One raw record per minute of the given session, from {@code firstMinute} (inclusive) to
+     * {@code lastMinute} (exclusive) after {@link #START_MS}
+     */
+    private static List<StatsRecord> minutes(long sessionMs, int firstMinute, int lastMinute) {
+        List<StatsRecord> records = new ArrayList<>();
+        for (int minute = firstMinute; minute < lastMinute; minute++) {
+            records.add(new StatsRecord(START_MS + minute * MINUTE_MS, sessionMs, 60,
+                    10 + minute % 7, minute % 3, minute % 2, minute % 5 == 0 ? 1 : 0,
+                    StatsRecord.RAW, (minute % 4) * 12.5));
+        }
+        return records;
+    }
+
+    private static void write(Path file, List<StatsRecord> records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(StatsLog.RECORD_SIZE);
+        try (FileChannel channel = StatsLog.openForAppend(file)) {
+            for (StatsRecord record : records) {
+                StatsLog.append(channel, buffer, record);
+            }
+        }
+    }
+
+    /**
+     * Sums of the written records starting in {@code [fromMs, toMs)}
+     */
+    private static StatsTotals sum(List<StatsRecord> records, long fromMs, long toMs) {
+        StatsTotals totals = new StatsTotals();
+        for (StatsRecord record : records) {
+            if (record.startMs() >= fromMs && record.startMs() < toMs) {
+                totals.add(record.seconds(), record.attacks(), record.kills(), record.sells(),
+                        record.sellFailures(), record.earnings());
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * The log matches the written records record for record; only valid while nothing was compacted
+     */
+    private static void assertTotals(List<StatsRecord> records, Path file, long fromMs, long toMs) throws IOException {
+        StatsTotals expected = sum(records, fromMs, toMs);
+        StatsTotals actual = new StatsTotals();
+        StatsLog.aggregate(file, fromMs, toMs, actual);
+        assertEquals(expected.getRecords(), actual.getRecords());
+        assertSameSums(expected, actual);
+    }
+
+    /**
+     * The log's sums match the written records, however many records compaction merged them into
+     */
+    private static void assertSums(List<StatsRecord> records, Path file, long fromMs, long toMs) throws IOException {
+        StatsTotals actual = new StatsTotals();
+        StatsLog.aggregate(file, fromMs, toMs, actual);
+        assertSameSums(sum(records, fromMs, toMs), actual);
+    }
+
+    private static void assertSameSums(StatsTotals expected, StatsTotals actual) {
+        assertEquals(expected.getSeconds(), actual.getSeconds());
+        assertEquals(expected.getAttacks(), actual.getAttacks());
+        assertEquals(expected.getKills(), actual.getKills());
+        assertEquals(expected.getSells(), actual.getSells());
+        assertEquals(expected.getSellFailures(), actual.getSellFailures());
+        assertEquals(expected.getEarnings(), actual.getEarnings(), 1e-9);
+    }
+}